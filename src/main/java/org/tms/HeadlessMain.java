@@ -0,0 +1,71 @@
+package org.tms;
+
+import org.tms.configuration.Configuration;
+import org.tms.exception.NegativeValueException;
+import org.tms.threadExecutor.Executor;
+import org.tms.ticketPool.TicketPoolListener;
+import org.tms.ticketPool.TicketPoolStrategy;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lean non-interactive entrypoint for load tests that start many short-lived JVMs.
+ * Skips the menu, the configuration prompts and the JSON configuration file, runs one simulation
+ * and reports the time from JVM start to the first ticket sold.</br>
+ * Usage: {@code HeadlessMain [vendors] [customers] [durationMillis] [ticketsPerRelease] [releaseIntervalMs]
+ * [ticketsPerPurchase] [retrievalIntervalMs] [capacity] [initialTickets] [strategy]}
+ */
+public class HeadlessMain {
+
+    public static void main(String[] args) {
+        int vendorCount = intArgument(args, 0, 2);
+        int customerCount = intArgument(args, 1, 4);
+        int durationMillis = intArgument(args, 2, 1000);
+        int ticketsPerRelease = intArgument(args, 3, 5);
+        int releaseInterval = intArgument(args, 4, 100);
+        int ticketsPerPurchase = intArgument(args, 5, 2);
+        int retrievalInterval = intArgument(args, 6, 100);
+        int capacity = intArgument(args, 7, 100);
+        int initialTickets = intArgument(args, 8, 0);
+        TicketPoolStrategy strategy = args.length > 9 ? TicketPoolStrategy.fromConfigName(args[9])
+                : TicketPoolStrategy.ALTERNATING_LOCK;
+
+        Configuration configuration = new Configuration(initialTickets, ticketsPerRelease, ticketsPerPurchase, capacity, strategy);
+        configuration.validate();
+
+        // Wall-clock time of the first sale, 0 until a ticket is sold
+        AtomicLong firstSaleMillis = new AtomicLong();
+        TicketPoolListener firstSale = new TicketPoolListener() {
+            @Override
+            public void onTicketSold(int ticketId, int vendorId, int customerId, long releasedAtNanos, long soldAtNanos) {
+                if (firstSaleMillis.get() == 0) {
+                    firstSaleMillis.compareAndSet(0, System.currentTimeMillis());
+                }
+            }
+        };
+
+        Executor.runVendorCustomerHeadless(configuration, vendorCount, releaseInterval, customerCount,
+                retrievalInterval, durationMillis, firstSale);
+
+        if (firstSaleMillis.get() == 0) {
+            System.out.println("No ticket was sold.");
+        } else {
+            // Read the JVM start time only now so the management classes do not delay the first sale
+            long jvmStartMillis = ManagementFactory.getRuntimeMXBean().getStartTime();
+            System.out.println("Time to first ticket sold: " + (firstSaleMillis.get() - jvmStartMillis) + " ms after JVM start");
+        }
+    }
+
+    // Parses a positional argument, falling back to a default when it is missing
+    private static int intArgument(String[] args, int index, int defaultValue) {
+        if (args.length <= index) {
+            return defaultValue;
+        }
+        int value = Integer.parseInt(args[index].trim());
+        if (value < 0) {
+            throw new NegativeValueException("Argument " + (index + 1) + " must not be negative: " + value);
+        }
+        return value;
+    }
+}
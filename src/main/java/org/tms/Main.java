@@ -1,7 +1,13 @@
 package org.tms;
 
+import org.tms.analytics.SalesAnalytics;
 import org.tms.threadExecutor.Executor;
+import org.tms.threadExecutor.SpikeScenario;
+import org.tms.threadExecutor.TicketPoolABRunner;
 import org.tms.configuration.ConfigUtility;
+import org.tms.ticketPool.TicketPoolStrategy;
+
+import java.util.List;
 
 /**
  * Main class to execute the Producer-Consumer Ticket Handling Simulation.
@@ -23,13 +29,19 @@ public class Main {
     
                     Enter 2 if you want to create a new configuration file:
     
+                    Enter 3 to view sales analytics of the last simulation:
+    
+                    Enter 4 to run the on-sale spike scenario with and without the waiting room:
+    
+                    Enter 5 to compare the ticket pool strategies:
+    
                     Enter 0 to exit:
     
                     Enter your option:"""
             );
 
             // Validate user input
-            if (option < 0 || option > 2) {
+            if (option < 0 || option > 5) {
                 System.out.println("Invalid option. Please try again.");
                 continue;
             }
@@ -47,6 +59,21 @@ public class Main {
                     ConfigUtility.saveConfigFile();
                     break;
 
+                case 3:
+                    // Query the analytics collected during the last simulation
+                    showAnalyticsMenu();
+                    break;
+
+                case 4:
+                    // Compare direct purchases with the waiting room under an on-sale spike
+                    SpikeScenario.run();
+                    break;
+
+                case 5:
+                    // Run the same workload against every ticket pool implementation
+                    compareStrategies();
+                    break;
+
                 case 0:
                     // Exit the application
                     System.out.println("Exiting...");
@@ -62,4 +89,75 @@ public class Main {
 
         System.out.println("Thank you for using the Ticket Handling Simulation!");
     }
+
+    /**
+     * Compares the ticket pool strategies using the saved configuration's capacity and rates.
+     */
+    private static void compareStrategies() {
+        int vendorCount = ConfigUtility.integerInput("Enter the number of vendors:");
+        int customerCount = ConfigUtility.integerInput("Enter the number of customers:");
+        int seconds = ConfigUtility.integerInput("Enter the number of seconds to run each strategy:");
+
+        try {
+            TicketPoolABRunner.compare(ConfigUtility.loadConfigFile(), List.of(TicketPoolStrategy.values()),
+                    vendorCount, customerCount, seconds);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Shows the sales analytics menu for the last simulation run until the user goes back.
+     */
+    private static void showAnalyticsMenu() {
+        SalesAnalytics analytics = Executor.getLastRunAnalytics();
+        if (analytics == null) {
+            System.out.println("No simulation has been run yet.");
+            return;
+        }
+
+        int option;
+        do {
+            option = ConfigUtility.integerInput(
+                    """
+                    Enter 1 to view sell-through rate and sales per second:
+    
+                    Enter 2 to view inventory turnover per vendor:
+    
+                    Enter 3 to view time-to-sell distribution:
+    
+                    Enter 4 to view starved customers:
+    
+                    Enter 0 to go back:
+    
+                    Enter your option:"""
+            );
+
+            switch (option) {
+                case 1:
+                    analytics.printSalesOverview();
+                    break;
+
+                case 2:
+                    analytics.printVendorTurnover();
+                    break;
+
+                case 3:
+                    analytics.printTimeToSellDistribution();
+                    break;
+
+                case 4:
+                    analytics.printStarvedCustomers();
+                    break;
+
+                case 0:
+                    System.out.println("Returning to main menu.");
+                    break;
+
+                default:
+                    System.out.println("Invalid option. Please try again.");
+                    break;
+            }
+        } while (option != 0);
+    }
 }
@@ -0,0 +1,75 @@
+package org.tms.analytics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts events in per-second buckets over a fixed rolling window.
+ * A bucket is reused once the window has moved past it. An increment racing with the reset of its bucket
+ * may be lost, which is accepted to keep updates lock-free.
+ */
+final class RollingCounter {
+
+    // Number of one-second buckets kept
+    private final int windowSeconds;
+
+    // Event count of each bucket
+    private final AtomicLongArray counts;
+
+    // Second currently counted by each bucket, -1 if unused
+    private final AtomicLongArray bucketSeconds;
+
+    RollingCounter(int windowSeconds) {
+        this.windowSeconds = windowSeconds;
+        this.counts = new AtomicLongArray(windowSeconds);
+        this.bucketSeconds = new AtomicLongArray(windowSeconds);
+        for (int i = 0; i < windowSeconds; i++) {
+            bucketSeconds.set(i, -1);
+        }
+    }
+
+    /**
+     * Adds to the count of the given second.
+     *
+     * @param second the second since the start of the run
+     * @param delta  the number of events
+     */
+    void add(long second, long delta) {
+        int index = (int) (second % windowSeconds);
+        long bucketSecond = bucketSeconds.get(index);
+        if (bucketSecond != second) {
+            if (bucketSecond > second) {
+                return; // The event is older than the window
+            }
+            if (bucketSeconds.compareAndSet(index, bucketSecond, second)) {
+                counts.set(index, 0);
+            }
+        }
+        counts.addAndGet(index, delta);
+    }
+
+    /**
+     * Gets the count of the given second, 0 if it is outside the window.
+     *
+     * @param second the second since the start of the run
+     * @return the number of events in that second
+     */
+    long get(long second) {
+        int index = (int) (second % windowSeconds);
+        return bucketSeconds.get(index) == second ? counts.get(index) : 0;
+    }
+
+    /**
+     * Sums the counts of the given range of seconds, both ends inclusive.
+     *
+     * @param fromSecond the first second of the range
+     * @param toSecond   the last second of the range
+     * @return the number of events in the range that are still inside the window
+     */
+    long sum(long fromSecond, long toSecond) {
+        long total = 0;
+        for (long second = Math.max(0, Math.max(fromSecond, toSecond - windowSeconds + 1)); second <= toSecond; second++) {
+            total += get(second);
+        }
+        return total;
+    }
+}
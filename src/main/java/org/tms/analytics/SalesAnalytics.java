@@ -0,0 +1,262 @@
+package org.tms.analytics;
+
+import org.tms.ticketPool.TicketPoolListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps incremental sales aggregates of a simulation run as ticket pool events happen.</br>
+ * Every event only bumps counters, so queries such as sell-through rate, per-vendor inventory turnover,
+ * time-to-sell distribution and starved customers are answered without rescanning the ticket history.</br>
+ * Per-second figures are kept for the last {@value #WINDOW_SECONDS} seconds of the run.
+ */
+public class SalesAnalytics implements TicketPoolListener {
+
+    // Length of the rolling window in seconds
+    public static final int WINDOW_SECONDS = 60;
+
+    // Customers without a purchase for this long at the end of the run count as starved
+    private static final long STARVATION_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    // Number of power-of-two time-to-sell buckets, the last one collects everything from 2^20 ms (~17.5 minutes) on
+    private static final int TIME_TO_SELL_BUCKETS = 22;
+
+    // Number of most recent seconds shown in the per-second sales series
+    private static final int SERIES_SECONDS = 10;
+
+    // Start and end of the run, the end is 0 while the run is in progress
+    private final long startNanos = System.nanoTime();
+    private volatile long endNanos;
+
+    // Totals over the whole run
+    private final LongAdder ticketsAdded = new LongAdder();
+    private final LongAdder ticketsSold = new LongAdder();
+    private final LongAdder failedAttempts = new LongAdder();
+
+    // Per-second totals over the rolling window
+    private final RollingCounter addedPerSecond = new RollingCounter(WINDOW_SECONDS);
+    private final RollingCounter soldPerSecond = new RollingCounter(WINDOW_SECONDS);
+
+    // Time-to-sell histogram, bucket i counts sales that took [2^(i-1), 2^i) milliseconds
+    private final AtomicLongArray timeToSellHistogram = new AtomicLongArray(TIME_TO_SELL_BUCKETS);
+
+    // Aggregates per vendor and per customer
+    private final Map<Integer, VendorStats> vendors = new ConcurrentHashMap<>();
+    private final Map<Integer, CustomerStats> customers = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTicketsAdded(int vendorId, int count, long releasedAtNanos) {
+        ticketsAdded.add(count);
+        addedPerSecond.add(secondOf(releasedAtNanos), count);
+        vendors.computeIfAbsent(vendorId, id -> new VendorStats()).released.add(count);
+    }
+
+    @Override
+    public void onTicketSold(int ticketId, int vendorId, int customerId, long releasedAtNanos, long soldAtNanos) {
+        long second = secondOf(soldAtNanos);
+        long timeToSell = Math.max(0, soldAtNanos - releasedAtNanos);
+        ticketsSold.increment();
+        soldPerSecond.add(second, 1);
+        timeToSellHistogram.incrementAndGet(bucketOf(timeToSell));
+
+        VendorStats vendor = vendors.computeIfAbsent(vendorId, id -> new VendorStats());
+        vendor.sold.increment();
+        vendor.timeToSellNanos.add(timeToSell);
+        vendor.soldPerSecond.add(second, 1);
+
+        CustomerStats customer = customers.computeIfAbsent(customerId, id -> new CustomerStats());
+        customer.bought.increment();
+        customer.lastPurchaseNanos = soldAtNanos;
+    }
+
+    @Override
+    public void onPurchaseFailed(int customerId, int requested, long failedAtNanos) {
+        failedAttempts.increment();
+        customers.computeIfAbsent(customerId, id -> new CustomerStats()).failedAttempts.increment();
+    }
+
+    /**
+     * Marks the end of the run so that later queries are relative to it rather than to the current time.
+     */
+    public void markRunEnded() {
+        endNanos = System.nanoTime();
+    }
+
+    /**
+     * Gets the number of tickets sold during the run.
+     *
+     * @return the number of sold tickets
+     */
+    public long getTicketsSold() {
+        return ticketsSold.sum();
+    }
+
+    /**
+     * Gets the share of released tickets that were sold.
+     *
+     * @return the sell-through rate between 0 and 1
+     */
+    public double getSellThroughRate() {
+        long added = ticketsAdded.sum();
+        return added == 0 ? 0.0 : (double) ticketsSold.sum() / added;
+    }
+
+    /**
+     * Estimates a time-to-sell percentile from the histogram.
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the upper bound of the bucket holding the percentile, in milliseconds
+     */
+    public long getTimeToSellPercentileMillis(double percentile) {
+        long total = 0;
+        for (int i = 0; i < TIME_TO_SELL_BUCKETS; i++) {
+            total += timeToSellHistogram.get(i);
+        }
+        long target = (long) Math.ceil(total * percentile / 100.0);
+        long seen = 0;
+        for (int i = 0; i < TIME_TO_SELL_BUCKETS; i++) {
+            seen += timeToSellHistogram.get(i);
+            if (seen >= Math.max(1, target)) {
+                return bucketUpperBoundMillis(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Prints the overall sell-through rate and the sales per second of the last seconds of the run.
+     */
+    public void printSalesOverview() {
+        long lastSecond = lastSecond();
+        long windowStart = Math.max(0, lastSecond - WINDOW_SECONDS + 1);
+        long windowLength = lastSecond - windowStart + 1;
+
+        System.out.println("Run time: " + (lastSecond + 1) + " s");
+        System.out.println("Tickets added: " + ticketsAdded.sum() + ", sold: " + ticketsSold.sum()
+                + ", failed purchase attempts: " + failedAttempts.sum());
+        System.out.printf("Sell-through rate: %.1f%%%n", getSellThroughRate() * 100);
+        System.out.printf("Sales in the last %d s: %.1f tickets/s (added %.1f tickets/s)%n", windowLength,
+                (double) soldPerSecond.sum(windowStart, lastSecond) / windowLength,
+                (double) addedPerSecond.sum(windowStart, lastSecond) / windowLength);
+
+        System.out.println("Second | Added | Sold");
+        for (long second = Math.max(0, lastSecond - SERIES_SECONDS + 1); second <= lastSecond; second++) {
+            System.out.printf("%6d | %5d | %4d%n", second + 1, addedPerSecond.get(second), soldPerSecond.get(second));
+        }
+    }
+
+    /**
+     * Prints the inventory turnover, sales rate and mean time-to-sell of every vendor.
+     */
+    public void printVendorTurnover() {
+        long lastSecond = lastSecond();
+        long windowStart = Math.max(0, lastSecond - WINDOW_SECONDS + 1);
+        long windowLength = lastSecond - windowStart + 1;
+
+        System.out.println("Vendor | Released | Sold | Turnover | Sold/s (last " + windowLength + " s) | Mean time-to-sell");
+        List<Integer> vendorIds = new ArrayList<>(vendors.keySet());
+        vendorIds.sort(Comparator.naturalOrder());
+        for (int vendorId : vendorIds) {
+            VendorStats vendor = vendors.get(vendorId);
+            long released = vendor.released.sum();
+            long sold = vendor.sold.sum();
+            System.out.printf("%6s | %8d | %4d | %7.1f%% | %8.1f | %.1f ms%n",
+                    vendorId == 0 ? "init" : String.valueOf(vendorId), released, sold,
+                    released == 0 ? 0.0 : 100.0 * sold / released,
+                    (double) vendor.soldPerSecond.sum(windowStart, lastSecond) / windowLength,
+                    sold == 0 ? 0.0 : vendor.timeToSellNanos.sum() / 1_000_000.0 / sold);
+        }
+    }
+
+    /**
+     * Prints the distribution of the time between a ticket's release and its sale.
+     */
+    public void printTimeToSellDistribution() {
+        System.out.println("Time-to-sell | Tickets");
+        for (int i = 0; i < TIME_TO_SELL_BUCKETS; i++) {
+            long count = timeToSellHistogram.get(i);
+            if (count > 0 && i == TIME_TO_SELL_BUCKETS - 1) {
+                System.out.printf(">= %6d ms | %d%n", bucketUpperBoundMillis(i - 1), count);
+            } else if (count > 0) {
+                System.out.printf("<= %6d ms | %d%n", bucketUpperBoundMillis(i), count);
+            }
+        }
+        System.out.println("p50: <= " + getTimeToSellPercentileMillis(50) + " ms, p90: <= "
+                + getTimeToSellPercentileMillis(90) + " ms, p99: <= " + getTimeToSellPercentileMillis(99) + " ms");
+    }
+
+    /**
+     * Prints the customers that failed to buy and have not bought anything recently, most failed attempts first.</br>
+     * Only customers buying directly from the pool are covered: failed attempts are pool events,
+     * and a customer waiting in a {@link org.tms.waitingRoom.WaitingRoom} queue never fails an attempt.
+     */
+    public void printStarvedCustomers() {
+        long referenceNanos = endNanos != 0 ? endNanos : System.nanoTime();
+        List<Map.Entry<Integer, CustomerStats>> starved = new ArrayList<>();
+        for (Map.Entry<Integer, CustomerStats> entry : customers.entrySet()) {
+            CustomerStats customer = entry.getValue();
+            boolean neverBought = customer.bought.sum() == 0;
+            boolean notRecently = referenceNanos - customer.lastPurchaseNanos > STARVATION_NANOS;
+            if (customer.failedAttempts.sum() > 0 && (neverBought || notRecently)) {
+                starved.add(entry);
+            }
+        }
+        if (starved.isEmpty()) {
+            System.out.println("No starved customers.");
+            return;
+        }
+        starved.sort(Comparator.comparingLong((Map.Entry<Integer, CustomerStats> entry) ->
+                entry.getValue().failedAttempts.sum()).reversed());
+
+        System.out.println("Customer | Bought | Failed attempts | Last purchase");
+        for (Map.Entry<Integer, CustomerStats> entry : starved) {
+            CustomerStats customer = entry.getValue();
+            String lastPurchase = customer.bought.sum() == 0 ? "never"
+                    : TimeUnit.NANOSECONDS.toSeconds(referenceNanos - customer.lastPurchaseNanos) + " s before end";
+            System.out.printf("%8d | %6d | %15d | %s%n", entry.getKey(), customer.bought.sum(),
+                    customer.failedAttempts.sum(), lastPurchase);
+        }
+    }
+
+    // Second of the run an event belongs to
+    private long secondOf(long nanos) {
+        return Math.max(0, TimeUnit.NANOSECONDS.toSeconds(nanos - startNanos));
+    }
+
+    // Last second of the run, or the current second while it is in progress
+    private long lastSecond() {
+        return secondOf(endNanos != 0 ? endNanos : System.nanoTime());
+    }
+
+    // Histogram bucket of a time-to-sell: 0 below 1 ms, then one bucket per power of two milliseconds
+    private static int bucketOf(long timeToSellNanos) {
+        long millis = TimeUnit.NANOSECONDS.toMillis(timeToSellNanos);
+        return Math.min(TIME_TO_SELL_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(millis));
+    }
+
+    private static long bucketUpperBoundMillis(int bucket) {
+        return 1L << bucket;
+    }
+
+    // Running aggregates of one vendor
+    private static final class VendorStats {
+        private final LongAdder released = new LongAdder();
+        private final LongAdder sold = new LongAdder();
+        private final LongAdder timeToSellNanos = new LongAdder();
+        private final RollingCounter soldPerSecond = new RollingCounter(WINDOW_SECONDS);
+    }
+
+    // Running aggregates of one customer
+    private static final class CustomerStats {
+        private final LongAdder bought = new LongAdder();
+        private final LongAdder failedAttempts = new LongAdder();
+        private volatile long lastPurchaseNanos;
+    }
+}
@@ -3,7 +3,9 @@ package org.tms.configuration;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
+import org.tms.exception.InvalidConfigurationException;
 import org.tms.exception.NegativeValueException;
+import org.tms.ticketPool.TicketPoolStrategy;
 
 import java.io.*;
 import java.util.Scanner;
@@ -17,6 +19,9 @@ public class ConfigUtility {
     // Path to the configuration file
     private static final String CONFIG_FILE = "src/main/resources/ConfigurationData.json";
 
+    // Scanner shared by all prompts, created on the first prompt
+    private static Scanner scanner;
+
     /**
      * Prompts the user for an integer input, validates it, and ensures it is non-negative.
      *
@@ -24,7 +29,10 @@ public class ConfigUtility {
      * @return a valid, non-negative integer
      */
     public static int integerInput(String sentence) {
-        Scanner scanner = new Scanner(System.in);
+        // A new Scanner per prompt would discard input already buffered by the previous one
+        if (scanner == null) {
+            scanner = new Scanner(System.in);
+        }
         int value = 0;
         boolean valid = false;
         while (!valid) {
@@ -48,7 +56,8 @@ public class ConfigUtility {
 
     /**
      * Saves user input of the configuration to a JSON file.
-     * Ensures ticket capacity is greater than or equal to the total number of tickets.
+     * Ensures ticket capacity is greater than or equal to the total number of tickets
+     * and to the ticket release and retrieval rates.
      * Displays the saved configuration file
      */
     public static void saveConfigFile() {
@@ -64,10 +73,36 @@ public class ConfigUtility {
             }
         } while (totalTickets > ticketCapacity);
 
-        int ticketReleaseRate = integerInput("Maximum Ticket release rate: ");
-        int ticketRetrievalRate = integerInput("Maximum Ticket retrieval rate: ");
+        // Ensure a release and a purchase fit into the pool
+        int ticketReleaseRate;
+        do {
+            ticketReleaseRate = integerInput("Maximum Ticket release rate: ");
+            if (ticketReleaseRate > ticketCapacity) {
+                System.out.println("Release rate exceeds capacity! Please re-enter a release rate of at most " + ticketCapacity + ".");
+            }
+        } while (ticketReleaseRate > ticketCapacity);
 
-        Configuration configuration = new Configuration(totalTickets, ticketReleaseRate, ticketRetrievalRate, ticketCapacity);
+        int ticketRetrievalRate;
+        do {
+            ticketRetrievalRate = integerInput("Maximum Ticket retrieval rate: ");
+            if (ticketRetrievalRate > ticketCapacity) {
+                System.out.println("Retrieval rate exceeds capacity! Please re-enter a retrieval rate of at most " + ticketCapacity + ".");
+            }
+        } while (ticketRetrievalRate > ticketCapacity);
+
+        // Choose the ticket pool implementation
+        TicketPoolStrategy[] strategies = TicketPoolStrategy.values();
+        int strategyOption;
+        do {
+            StringBuilder prompt = new StringBuilder("Ticket pool strategy (");
+            for (int i = 0; i < strategies.length; i++) {
+                prompt.append(i > 0 ? ", " : "").append(i + 1).append(" = ").append(strategies[i].getConfigName());
+            }
+            strategyOption = integerInput(prompt.append("): ").toString());
+        } while (strategyOption < 1 || strategyOption > strategies.length);
+
+        Configuration configuration = new Configuration(totalTickets, ticketReleaseRate, ticketRetrievalRate, ticketCapacity,
+                strategies[strategyOption - 1]);
 
         // Create a JSON object from the configuration
         JsonObject jsonObject = new JsonObject();
@@ -75,6 +110,7 @@ public class ConfigUtility {
         jsonObject.addProperty("TicketReleaseRate", configuration.getMaximumTicketReleaseRate());
         jsonObject.addProperty("CustomerRetrievalRate", configuration.getMaximumCustomerRetrievalRate());
         jsonObject.addProperty("MaxTicketCapacity", configuration.getMaxTicketCapacity());
+        jsonObject.addProperty("TicketPoolStrategy", configuration.getTicketPoolStrategy().getConfigName());
 
         Gson gson = new Gson();
 
@@ -106,12 +142,15 @@ public class ConfigUtility {
                 long maxTicketCapacity = jsonObject.get("MaxTicketCapacity").getAsLong();
 
                 // Create a Configuration object from JSON data
+                TicketPoolStrategy ticketPoolStrategy = readTicketPoolStrategy(jsonObject);
                 configuration = new Configuration(
                         (int) totalTickets,
                         (int) ticketReleaseRate,
                         (int) customerRetrievalRate,
-                        (int) maxTicketCapacity
+                        (int) maxTicketCapacity,
+                        ticketPoolStrategy
                 );
+                configuration.validate();
 
                 // Display configration file
                 System.out.println("Loaded Configuration:");
@@ -119,8 +158,14 @@ public class ConfigUtility {
                 System.out.println("Ticket Release Rate: " + ticketReleaseRate);
                 System.out.println("Customer Retrieval Rate: " + customerRetrievalRate);
                 System.out.println("Max Ticket Capacity: " + maxTicketCapacity);
+                System.out.println("Ticket Pool Strategy: " + ticketPoolStrategy.getConfigName());
             } catch (IOException e) {
                 System.err.println("Error reading the configuration file: " + e.getMessage());
+            } catch (InvalidConfigurationException e) {
+                // A file edited by hand may contradict itself, ask for a new one
+                System.out.println("Invalid configuration: " + e.getMessage() + ". Creating a new configuration.");
+                saveConfigFile();
+                configuration = loadConfigFile();
             }
         } else {
             System.out.println("Configuration file not found. Creating a new configuration.");
@@ -132,32 +177,21 @@ public class ConfigUtility {
     }
 
     /**
-     * Retrieves the configuration by loading it from the file.
+     * Reads the ticket pool strategy from the configuration JSON.
+     * Configuration files saved before the strategy could be chosen use the alternating lock pool.
+     *
+     * @param jsonObject the configuration JSON
+     * @return the configured ticket pool strategy
+     * @throws InvalidConfigurationException if the file names an unknown strategy
      */
-    public static Configuration getConfiguration() {
-        Configuration configuration = null;
-
-        // Check if configuration file exists
-        File configFile = new File(CONFIG_FILE);
-        if (configFile.exists()) {
-            try (FileReader reader = new FileReader(configFile)) {
-                JsonObject jsonObject = JsonParser.parseReader(reader).getAsJsonObject();
-                long totalTickets = jsonObject.get("TotalTickets").getAsLong();
-                long ticketReleaseRate = jsonObject.get("TicketReleaseRate").getAsLong();
-                long customerRetrievalRate = jsonObject.get("CustomerRetrievalRate").getAsLong();
-                long maxTicketCapacity = jsonObject.get("MaxTicketCapacity").getAsLong();
-
-                // Create a Configuration object from JSON data
-                configuration = new Configuration(
-                        (int) totalTickets,
-                        (int) ticketReleaseRate,
-                        (int) customerRetrievalRate,
-                        (int) maxTicketCapacity
-                );
-            } catch (IOException e) {
-                System.err.println("Error loading configuration: " );
-            }
+    private static TicketPoolStrategy readTicketPoolStrategy(JsonObject jsonObject) {
+        if (!jsonObject.has("TicketPoolStrategy")) {
+            return TicketPoolStrategy.ALTERNATING_LOCK;
+        }
+        try {
+            return TicketPoolStrategy.fromConfigName(jsonObject.get("TicketPoolStrategy").getAsString());
+        } catch (IllegalArgumentException e) {
+            throw new InvalidConfigurationException(e.getMessage());
         }
-        return configuration;
     }
 }
@@ -1,9 +1,12 @@
 package org.tms.configuration;
 
+import org.tms.exception.InvalidConfigurationException;
+import org.tms.ticketPool.TicketPoolStrategy;
+
 /**
  * configuration settings for the ticket management system.
  * This includes settings such as the total number of available tickets at beginning, the maximum ticket release rate,
- * the maximum customer retrieval rate, and the maximum ticket capacity.
+ * the maximum customer retrieval rate, the maximum ticket capacity and the ticket pool strategy.
  */
 public class Configuration {
 
@@ -11,13 +14,43 @@ public class Configuration {
     private final int maximumTicketReleaseRate;
     private final int maximumCustomerRetrievalRate;
     private final int maxTicketCapacity;
+    private final TicketPoolStrategy ticketPoolStrategy;
 
-    //Constructor to initialize configuration settings.
+    //Constructor to initialize configuration settings with the default ticket pool strategy.
     public Configuration(int totalTickets, int maximumTicketReleaseRate, int maximumCustomerRetrievalRate, int maxTicketCapacity) {
+        this(totalTickets, maximumTicketReleaseRate, maximumCustomerRetrievalRate, maxTicketCapacity,
+                TicketPoolStrategy.ALTERNATING_LOCK);
+    }
+
+    //Constructor to initialize configuration settings.
+    public Configuration(int totalTickets, int maximumTicketReleaseRate, int maximumCustomerRetrievalRate, int maxTicketCapacity,
+                         TicketPoolStrategy ticketPoolStrategy) {
         this.totalTickets = totalTickets;
         this.maximumTicketReleaseRate = maximumTicketReleaseRate;
         this.maximumCustomerRetrievalRate = maximumCustomerRetrievalRate;
         this.maxTicketCapacity = maxTicketCapacity;
+        this.ticketPoolStrategy = ticketPoolStrategy;
+    }
+
+    /**
+     * Checks that the initial tickets and the tickets per release or purchase fit into the ticket capacity.
+     * A vendor could never release, or a customer never buy, more tickets than the pool can hold.
+     *
+     * @throws InvalidConfigurationException if a value exceeds the maximum ticket capacity
+     */
+    public void validate() {
+        if (totalTickets > maxTicketCapacity) {
+            throw new InvalidConfigurationException("Total tickets (" + totalTickets + ") exceed the ticket capacity ("
+                    + maxTicketCapacity + ")");
+        }
+        if (maximumTicketReleaseRate > maxTicketCapacity) {
+            throw new InvalidConfigurationException("Ticket release rate (" + maximumTicketReleaseRate
+                    + ") exceeds the ticket capacity (" + maxTicketCapacity + ")");
+        }
+        if (maximumCustomerRetrievalRate > maxTicketCapacity) {
+            throw new InvalidConfigurationException("Customer retrieval rate (" + maximumCustomerRetrievalRate
+                    + ") exceeds the ticket capacity (" + maxTicketCapacity + ")");
+        }
     }
 
     /**
@@ -55,4 +88,23 @@ public class Configuration {
     public int getMaxTicketCapacity() {
         return maxTicketCapacity;
     }
+
+    /**
+     * Gets the ticket pool implementation to use.
+     *
+     * @return the ticket pool strategy
+     */
+    public TicketPoolStrategy getTicketPoolStrategy() {
+        return ticketPoolStrategy;
+    }
+
+    /**
+     * Creates a copy of this configuration using another ticket pool strategy.
+     *
+     * @param strategy the ticket pool strategy of the copy
+     * @return the copied configuration
+     */
+    public Configuration withTicketPoolStrategy(TicketPoolStrategy strategy) {
+        return new Configuration(totalTickets, maximumTicketReleaseRate, maximumCustomerRetrievalRate, maxTicketCapacity, strategy);
+    }
 }
@@ -0,0 +1,9 @@
+package org.tms.exception;
+/**
+ * InvalidConfigurationException handles configuration values that contradict each other
+ **/
+public class InvalidConfigurationException extends RuntimeException {
+    public InvalidConfigurationException(String message) {
+        super(message);
+    }
+}
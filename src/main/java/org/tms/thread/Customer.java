@@ -1,14 +1,16 @@
 package org.tms.thread;
 
 import org.tms.ticketPool.TicketPool;
+import org.tms.waitingRoom.QueueToken;
+import org.tms.waitingRoom.WaitingRoom;
 
 import java.util.concurrent.TimeUnit;
 
 /**
  * Represents a Customer that attempts to purchase tickets from a TicketPool.
  * The customer retrieves a specified number of tickets
- * at defined intervals. The behavior of the customer can be stopped by invoking
- * the {@link #stop()} method.
+ * at defined intervals, either directly from the pool or by queueing in a {@link WaitingRoom}.
+ * The behavior of the customer can be stopped by invoking the {@link #stop()} method.
  */
 public class Customer implements Runnable {
 
@@ -24,6 +26,9 @@ public class Customer implements Runnable {
     // Shared TicketPool object from which tickets are retrieved
     private final TicketPool ticketPool;
 
+    // Waiting room to queue in instead of retrying against the pool, null to buy directly
+    private final WaitingRoom waitingRoom;
+
     // Flag to indicate whether the customer thread should continue running
     private volatile boolean isRunning = true;
 
@@ -31,10 +36,18 @@ public class Customer implements Runnable {
      * Constructor for Customer instance.
      */
     public Customer(int customerId, int retrievalInterval, int retrievalRate, TicketPool ticketPool) {
+        this(customerId, retrievalInterval, retrievalRate, ticketPool, null);
+    }
+
+    /**
+     * Constructor for Customer instance that buys through a waiting room.
+     */
+    public Customer(int customerId, int retrievalInterval, int retrievalRate, TicketPool ticketPool, WaitingRoom waitingRoom) {
         this.customerId = customerId;
         this.retrievalRate = retrievalRate;
         this.retrievalInterval = retrievalInterval;
         this.ticketPool = ticketPool;
+        this.waitingRoom = waitingRoom;
     }
 
     /**
@@ -48,8 +61,10 @@ public class Customer implements Runnable {
             try {
 
                 System.out.println("Customer " + customerId + " is attempting to purchase " + retrievalRate + " Tickets");
-                // Attempt to retrieve tickets from the ticket pool
-                boolean success = ticketPool.removeTickets(retrievalRate, customerId);
+                // Attempt to retrieve tickets from the ticket pool, or wait for them in the waiting room
+                boolean success = waitingRoom == null
+                        ? ticketPool.removeTickets(retrievalRate, customerId)
+                        : purchaseThroughWaitingRoom();
 
                 if (success) {
                     // Log success and wait for the next interval
@@ -64,11 +79,28 @@ public class Customer implements Runnable {
                 // Handle interruption, log the event, and exit the loop
                 System.out.println("Customer " + customerId + " was interrupted. Exiting...");
                 Thread.currentThread().interrupt(); // Restore interrupt status
+            } catch (RuntimeException e) {
+                // Log why the customer stops instead of dying silently inside the executor
+                System.out.println("Customer " + customerId + " stopped purchasing tickets: " + e.getMessage());
+                break;
             }
         }
         System.out.println("Customer " + customerId + " has stopped.");
     }
 
+    /**
+     * Queues in the waiting room and waits until the tickets are dispatched.
+     *
+     * @return true if the tickets were dispatched, false if the waiting room closed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    private boolean purchaseThroughWaitingRoom() throws InterruptedException {
+        QueueToken token = waitingRoom.enterQueue(customerId, retrievalRate);
+        System.out.println("Customer " + customerId + " joined the waiting room at position " + token.getPosition()
+                + (token.getEstimatedWaitMillis() < 0 ? "" : ", estimated wait " + token.getEstimatedWaitMillis() + " ms"));
+        return token.awaitTickets() != null;
+    }
+
     /**
      * Stops the customer thread by setting the isRunning flag to false.
      */
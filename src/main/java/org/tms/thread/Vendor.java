@@ -59,6 +59,10 @@ public class Vendor implements Runnable {
                 // Handle interruption, log the event, and exit the loop
                 System.out.println("Vendor " + vendorId + " was interrupted during ticket release.");
                 Thread.currentThread().interrupt(); // Preserve the interrupt status
+            } catch (RuntimeException e) {
+                // Log why the vendor stops instead of dying silently inside the executor
+                System.out.println("Vendor " + vendorId + " stopped releasing tickets: " + e.getMessage());
+                break;
             }
         }
         // Log when the vendor stops running
@@ -1,10 +1,12 @@
 package org.tms.threadExecutor;
 
+import org.tms.analytics.SalesAnalytics;
 import org.tms.configuration.ConfigUtility;
 import org.tms.configuration.Configuration;
 import org.tms.thread.Customer;
 import org.tms.ticketPool.TicketPool;
 import org.tms.thread.Vendor;
+import org.tms.ticketPool.TicketPoolListener;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +23,9 @@ import java.util.concurrent.TimeUnit;
  */
 public class Executor {
 
+    // Sales analytics of the most recent simulation run, null before the first run
+    private static SalesAnalytics lastRunAnalytics;
+
     /**
      * Starts the vendor-customer simulation using a command-line interface.
      * Initializes the ticket pool, vendors, and customers, and runs the simulation
@@ -28,7 +33,13 @@ public class Executor {
      */
     public static void runVendorCustomerCLI() {
 
-        TicketPool ticketPool = new TicketPool();
+        // Create the ticket pool implementation selected in the configuration, asking for a new one if it is invalid
+        Configuration configuration = ConfigUtility.loadConfigFile();
+        TicketPool ticketPool = configuration.getTicketPoolStrategy().create(configuration);
+        System.out.println("Using ticket pool strategy: " + configuration.getTicketPoolStrategy().getConfigName());
+        SalesAnalytics analytics = new SalesAnalytics();
+        ticketPool.addListener(analytics);
+        lastRunAnalytics = analytics;
         ticketPool.initializeAvailableTickets(); // Initialize total tickets given by configuration class
 
         // Create a thread pool for managing vendors and customers
@@ -42,7 +53,7 @@ public class Executor {
         int timeDuration = ConfigUtility.integerInput("Enter simulation running time in seconds ");
 
         // Setup vendors and customers by given user input
-        configureVendorsAndCustomers(ticketPool, vendors, customers);
+        configureVendorsAndCustomers(configuration, ticketPool, vendors, customers);
 
         try {
             // Start the simulation
@@ -59,6 +70,7 @@ public class Executor {
         } finally {
             // Stop all threads and save ticket history
             stopSimulation(executor, vendors, customers);
+            analytics.markRunEnded();
             ticketPool.saveTicketHistory();
         }
 
@@ -66,15 +78,77 @@ public class Executor {
         System.out.println("Simulation ended.");
     }
 
+    /**
+     * Runs the vendor-customer simulation without any prompts, for load tests and scripted runs.
+     * Vendors release the configured maximum release rate and customers request the configured
+     * maximum retrieval rate. The ticket history is not saved.
+     *
+     * @param configuration     the ticket pool configuration
+     * @param vendorCount       the number of vendors
+     * @param releaseInterval   the release interval of every vendor in milliseconds
+     * @param customerCount     the number of customers
+     * @param retrievalInterval the retrieval interval of every customer in milliseconds
+     * @param durationMillis    the simulation runtime in milliseconds
+     * @param listener          listener registered on the ticket pool, or null
+     */
+    public static void runVendorCustomerHeadless(Configuration configuration, int vendorCount, int releaseInterval,
+                                                 int customerCount, int retrievalInterval, int durationMillis,
+                                                 TicketPoolListener listener) {
+        TicketPool ticketPool = configuration.getTicketPoolStrategy().create(configuration);
+        if (listener != null) {
+            ticketPool.addListener(listener);
+        }
+        ticketPool.initializeAvailableTickets();
+
+        ExecutorService executor = Executors.newCachedThreadPool();
+        List<Vendor> vendors = new ArrayList<>();
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 1; i <= vendorCount; i++) {
+            vendors.add(new Vendor(i, configuration.getMaximumTicketReleaseRate(), releaseInterval, ticketPool));
+        }
+        for (int i = 1; i <= customerCount; i++) {
+            customers.add(new Customer(i, retrievalInterval, configuration.getMaximumCustomerRetrievalRate(), ticketPool));
+        }
+
+        try {
+            startSimulation(executor, vendors, customers);
+            TimeUnit.MILLISECONDS.sleep(durationMillis);
+        } catch (InterruptedException e) {
+            System.out.println("Simulation interrupted");
+            Thread.currentThread().interrupt();
+        } finally {
+            // Threads waiting for their turn would hold a short-lived JVM for the whole grace period
+            vendors.forEach(Vendor::stop);
+            customers.forEach(Customer::stop);
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        System.out.println("Simulation ended. Tickets sold: " + ticketPool.getTicketsSold());
+    }
+
+    /**
+     * Gets the sales analytics of the most recent simulation run.
+     *
+     * @return the analytics of the last run, or null if no simulation has been run yet
+     */
+    public static SalesAnalytics getLastRunAnalytics() {
+        return lastRunAnalytics;
+    }
+
     /**
      * Configures vendors and customers based on user input.
      *
-     * @param ticketPool the shared ticket pool
-     * @param vendors    the list to store vendor instances
-     * @param customers  the list to store customer instances
+     * @param configuration the configuration limiting the tickets per release and per purchase
+     * @param ticketPool    the shared ticket pool
+     * @param vendors       the list to store vendor instances
+     * @param customers     the list to store customer instances
      */
-    private static void configureVendorsAndCustomers(TicketPool ticketPool, List<Vendor> vendors, List<Customer> customers) {
-        Configuration configuration = ConfigUtility.getConfiguration();
+    private static void configureVendorsAndCustomers(Configuration configuration, TicketPool ticketPool,
+                                                     List<Vendor> vendors, List<Customer> customers) {
 
         // Configure vendors
         int vendorCount = ConfigUtility.integerInput("Enter the number of vendors: ");
@@ -84,10 +158,10 @@ public class Executor {
             // Ensure the release rate does not exceed the maximum allowed
             do {
                 ticketsReleaseRate = ConfigUtility.integerInput("Enter tickets per release for Vendor " + i + ":");
-                if (ticketsReleaseRate > configuration.getMaximumCustomerRetrievalRate()) {
+                if (ticketsReleaseRate > configuration.getMaximumTicketReleaseRate()) {
                     System.out.println("Ticket release rate should be lower than " + configuration.getMaximumTicketReleaseRate());
                 }
-            } while (ticketsReleaseRate > configuration.getMaximumCustomerRetrievalRate());
+            } while (ticketsReleaseRate > configuration.getMaximumTicketReleaseRate());
 
             int releaseInterval = ConfigUtility.integerInput("Enter release interval (ms) for Vendor " + i + ":");
             vendors.add(new Vendor(i, ticketsReleaseRate, releaseInterval, ticketPool));
@@ -104,7 +178,7 @@ public class Executor {
                 if (retrievalRate > configuration.getMaximumCustomerRetrievalRate()) {
                     System.out.println("Ticket retrieval rate should be lower than " + configuration.getMaximumCustomerRetrievalRate());
                 }
-            } while (retrievalRate > configuration.getMaximumTicketReleaseRate());
+            } while (retrievalRate > configuration.getMaximumCustomerRetrievalRate());
 
             int retrievalInterval = ConfigUtility.integerInput("Enter retrieval interval (ms) for Customer " + i + ":");
             customers.add(new Customer(i, retrievalInterval, retrievalRate, ticketPool));
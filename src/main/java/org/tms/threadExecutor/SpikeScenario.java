@@ -0,0 +1,164 @@
+package org.tms.threadExecutor;
+
+import org.tms.configuration.Configuration;
+import org.tms.thread.Customer;
+import org.tms.thread.Vendor;
+import org.tms.ticketPool.AlternatingLockTicketPool;
+import org.tms.ticketPool.TicketPoolListener;
+import org.tms.waitingRoom.WaitingRoom;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Built-in on-sale spike scenario.</br>
+ * A crowd of customers hits an empty ticket pool at the same instant while a few vendors release tickets.
+ * Every release is smaller than a purchase, so a customer whose turn comes right after a release finds too few
+ * tickets, fails and retries after {@code retrievalInterval / 2}.
+ * The scenario runs once with customers buying directly from the pool and once with customers
+ * queueing in a {@link WaitingRoom}, then compares the lock acquisitions needed per sold ticket.</br>
+ * Lock acquisitions are split into pool calls (releases, purchase attempts, dispatches) and turn wake-ups:
+ * every vendor or customer turn wakes all threads waiting for their turn, and each wake-up re-acquires the lock.
+ * With hundreds of customers waiting in the pool, those wake-ups dominate the direct mode, not the retries.
+ */
+public class SpikeScenario {
+
+    private static final int CUSTOMERS = 500;
+    private static final int TICKETS_PER_CUSTOMER = 2;
+    private static final int RETRIEVAL_INTERVAL_MS = 200;
+    private static final int VENDORS = 5;
+    private static final int TICKETS_PER_RELEASE = 1;
+    private static final int RELEASE_INTERVAL_MS = 50;
+    private static final int TICKET_CAPACITY = 100;
+    private static final int WAITING_ROOM_BATCH_SIZE = 50;
+    private static final int DURATION_SECONDS = 5;
+
+    public static void main(String[] args) {
+        run();
+    }
+
+    /**
+     * Runs the spike with and without the waiting room and prints the comparison.
+     */
+    public static void run() {
+        System.out.println("Running on-sale spike: " + CUSTOMERS + " customers wanting " + TICKETS_PER_CUSTOMER
+                + " tickets each hit an empty pool, " + VENDORS + " vendors release " + TICKETS_PER_RELEASE
+                + " ticket(s) every " + RELEASE_INTERVAL_MS + " ms, " + DURATION_SECONDS
+                + " s per mode. Thread output is suppressed.");
+
+        SpikeResult direct = runOnce(false);
+        SpikeResult queued = runOnce(true);
+
+        System.out.println("Mode         | Sold | Pool calls | Turn wake-ups | Lock acquisitions | Per sold ticket | Failed attempts");
+        printResult("Direct", direct);
+        printResult("Waiting room", queued);
+        if (queued.poolCallsPerTicket() > 0 && direct.lockAcquisitionsPerTicket() > queued.lockAcquisitionsPerTicket()) {
+            // Most of the drop comes from fewer turn wake-ups, not from fewer calls into the pool
+            double drop = direct.lockAcquisitionsPerTicket() - queued.lockAcquisitionsPerTicket();
+            double turnWaitDrop = direct.turnWaitsPerTicket() - queued.turnWaitsPerTicket();
+            System.out.printf("Per sold ticket with the waiting room: pool calls %.2f -> %.2f (%.1fx fewer),"
+                            + " lock acquisitions %.2f -> %.2f (%.1fx fewer, %.0f%% of the drop is turn wake-ups)%n",
+                    direct.poolCallsPerTicket(), queued.poolCallsPerTicket(),
+                    direct.poolCallsPerTicket() / queued.poolCallsPerTicket(),
+                    direct.lockAcquisitionsPerTicket(), queued.lockAcquisitionsPerTicket(),
+                    direct.lockAcquisitionsPerTicket() / queued.lockAcquisitionsPerTicket(), 100.0 * turnWaitDrop / drop);
+        }
+        System.out.println("Turn wake-ups: threads woken by a vendor or customer turn that re-acquire the lock."
+                + " Failed attempts: customers whose turn found too few tickets and who retried.");
+    }
+
+    /**
+     * Runs the spike in one mode.
+     *
+     * @param useWaitingRoom whether customers queue in a waiting room instead of retrying
+     * @return the measurements of the run
+     */
+    private static SpikeResult runOnce(boolean useWaitingRoom) {
+        AlternatingLockTicketPool ticketPool = new AlternatingLockTicketPool(new Configuration(0, TICKETS_PER_RELEASE, TICKETS_PER_CUSTOMER, TICKET_CAPACITY));
+        LongAdder failedAttempts = new LongAdder();
+        ticketPool.addListener(new TicketPoolListener() {
+            @Override
+            public void onPurchaseFailed(int customerId, int requested, long failedAtNanos) {
+                failedAttempts.increment();
+            }
+        });
+        WaitingRoom waitingRoom = useWaitingRoom ? new WaitingRoom(ticketPool, WAITING_ROOM_BATCH_SIZE) : null;
+
+        List<Vendor> vendors = new ArrayList<>();
+        List<Customer> customers = new ArrayList<>();
+        for (int i = 1; i <= VENDORS; i++) {
+            vendors.add(new Vendor(i, TICKETS_PER_RELEASE, RELEASE_INTERVAL_MS, ticketPool));
+        }
+        for (int i = 1; i <= CUSTOMERS; i++) {
+            customers.add(new Customer(i, RETRIEVAL_INTERVAL_MS, TICKETS_PER_CUSTOMER, ticketPool, waitingRoom));
+        }
+
+        // Thousands of log lines per second would dominate the measurement
+        PrintStream console = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            if (waitingRoom != null) {
+                waitingRoom.open();
+            }
+            // The whole crowd arrives before the first release
+            for (Customer customer : customers) {
+                executor.submit(customer);
+            }
+            for (Vendor vendor : vendors) {
+                executor.submit(vendor);
+            }
+            TimeUnit.SECONDS.sleep(DURATION_SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            vendors.forEach(Vendor::stop);
+            customers.forEach(Customer::stop);
+            if (waitingRoom != null) {
+                waitingRoom.close();
+            }
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.setOut(console);
+        }
+
+        return new SpikeResult(ticketPool.getTicketsSold(), ticketPool.getLockAcquisitions(), ticketPool.getTurnWaits(),
+                failedAttempts.sum());
+    }
+
+    private static void printResult(String mode, SpikeResult result) {
+        System.out.printf("%-12s | %4d | %10d | %13d | %17d | %15.2f | %d%n", mode, result.sold(), result.poolCalls(),
+                result.turnWaits(), result.lockAcquisitions(), result.lockAcquisitionsPerTicket(), result.failedAttempts());
+    }
+
+    // Measurements of one spike run
+    private record SpikeResult(long sold, long poolCalls, long turnWaits, long failedAttempts) {
+
+        // Every return from waiting for a turn re-acquires the lock
+        long lockAcquisitions() {
+            return poolCalls + turnWaits;
+        }
+
+        double lockAcquisitionsPerTicket() {
+            return sold == 0 ? 0.0 : (double) lockAcquisitions() / sold;
+        }
+
+        double poolCallsPerTicket() {
+            return sold == 0 ? 0.0 : (double) poolCalls / sold;
+        }
+
+        double turnWaitsPerTicket() {
+            return sold == 0 ? 0.0 : (double) turnWaits / sold;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package org.tms.threadExecutor;
+
+import org.tms.configuration.Configuration;
+import org.tms.ticketPool.TicketPool;
+import org.tms.ticketPool.TicketPoolStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A/B runner that executes the same vendor/customer workload against several {@link TicketPool}
+ * implementations in sequence and prints a comparative throughput and latency table.</br>
+ * Each implementation gets a fresh pool and an unmeasured warm-up round before the measured round.
+ * Vendors and customers run without pauses or console output so the pool itself is measured.
+ * Purchases are all or nothing on every pool, so successful purchases, failed attempts and sold tickets
+ * are reported separately and latency percentiles only cover successful purchases.</br>
+ * Usage: {@code TicketPoolABRunner [vendors] [customers] [seconds] [ticketsPerRelease] [ticketsPerPurchase]
+ * [capacity] [strategies]} where strategies is a comma-separated list such as {@code alternating-lock,lock-free}.
+ */
+public class TicketPoolABRunner {
+
+    // Number of power-of-two purchase latency buckets in nanoseconds
+    private static final int LATENCY_BUCKETS = 40;
+
+    // Length of the unmeasured warm-up round in milliseconds
+    private static final int WARM_UP_MILLIS = 1000;
+
+    public static void main(String[] args) throws InterruptedException {
+        int vendorCount = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int customerCount = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int ticketsPerRelease = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+        int ticketsPerPurchase = args.length > 4 ? Integer.parseInt(args[4]) : 2;
+        int capacity = args.length > 5 ? Integer.parseInt(args[5]) : 100;
+
+        List<TicketPoolStrategy> strategies = new ArrayList<>();
+        if (args.length > 6) {
+            for (String name : args[6].split(",")) {
+                strategies.add(TicketPoolStrategy.fromConfigName(name));
+            }
+        } else {
+            strategies.addAll(List.of(TicketPoolStrategy.values()));
+        }
+
+        Configuration configuration = new Configuration(0, ticketsPerRelease, ticketsPerPurchase, capacity);
+        configuration.validate();
+        compare(configuration, strategies, vendorCount, customerCount, seconds);
+    }
+
+    /**
+     * Runs the workload against every strategy in turn and prints the comparison table.
+     *
+     * @param configuration the pool configuration; release and retrieval rates are used as tickets per operation
+     * @param strategies    the ticket pool implementations to compare
+     * @param vendorCount   the number of vendor threads
+     * @param customerCount the number of customer threads
+     * @param seconds       the measured runtime per strategy
+     */
+    public static void compare(Configuration configuration, List<TicketPoolStrategy> strategies, int vendorCount,
+                               int customerCount, int seconds) throws InterruptedException {
+        System.out.println("Comparing " + strategies.size() + " ticket pool strategies: " + vendorCount + " vendors x "
+                + configuration.getMaximumTicketReleaseRate() + " tickets, " + customerCount + " customers x "
+                + configuration.getMaximumCustomerRetrievalRate() + " tickets, capacity "
+                + configuration.getMaxTicketCapacity() + ", " + seconds + " s each");
+
+        List<RunResult> results = new ArrayList<>();
+        for (TicketPoolStrategy strategy : strategies) {
+            Configuration strategyConfiguration = configuration.withTicketPoolStrategy(strategy);
+            runWorkload(strategyConfiguration, vendorCount, customerCount, WARM_UP_MILLIS);
+            results.add(runWorkload(strategyConfiguration, vendorCount, customerCount, (int) TimeUnit.SECONDS.toMillis(seconds)));
+        }
+
+        System.out.println("Strategy         | Tickets sold/s | Purchases/s | Failed attempts/s | p50 purchase | p90 purchase | p99 purchase");
+        for (RunResult result : results) {
+            System.out.printf("%-16s | %14.0f | %11.0f | %17.0f | %9.1f us | %9.1f us | %9.1f us%n",
+                    result.strategy().getConfigName(), result.ticketsSold() / result.elapsedSeconds(),
+                    result.purchases() / result.elapsedSeconds(), result.failedAttempts() / result.elapsedSeconds(),
+                    result.latencyPercentileMicros(50), result.latencyPercentileMicros(90),
+                    result.latencyPercentileMicros(99));
+        }
+    }
+
+    /**
+     * Runs the workload once against a fresh pool of the configured strategy.
+     *
+     * @return the measurements of the run
+     */
+    private static RunResult runWorkload(Configuration configuration, int vendorCount, int customerCount,
+                                         int durationMillis) throws InterruptedException {
+        TicketPool ticketPool = configuration.getTicketPoolStrategy().create(configuration);
+        ticketPool.initializeAvailableTickets();
+        int ticketsPerRelease = configuration.getMaximumTicketReleaseRate();
+        int ticketsPerPurchase = configuration.getMaximumCustomerRetrievalRate();
+
+        // Per-customer measurements, each customer only writes its own entries
+        long[] purchases = new long[customerCount];
+        long[] failedAttempts = new long[customerCount];
+        long[][] histograms = new long[customerCount][LATENCY_BUCKETS];
+
+        TicketPoolWorkload workload = new TicketPoolWorkload();
+        workload.addWorkers("ab-vendor", vendorCount, vendorId -> {
+            ticketPool.addTicket(ticketsPerRelease, vendorId);
+            return true;
+        });
+        workload.addWorkers("ab-customer", customerCount, customerId -> {
+            long started = System.nanoTime();
+            boolean success = ticketPool.removeTickets(ticketsPerPurchase, customerId);
+            long latency = System.nanoTime() - started;
+            if (success) {
+                histograms[customerId - 1][bucketOf(latency)]++;
+                purchases[customerId - 1]++;
+            } else {
+                failedAttempts[customerId - 1]++;
+            }
+            return success;
+        });
+        double elapsedSeconds = workload.run(durationMillis);
+
+        long totalPurchases = 0;
+        long totalFailedAttempts = 0;
+        long[] latencies = new long[LATENCY_BUCKETS];
+        for (int customer = 0; customer < customerCount; customer++) {
+            totalPurchases += purchases[customer];
+            totalFailedAttempts += failedAttempts[customer];
+            for (int bucket = 0; bucket < LATENCY_BUCKETS; bucket++) {
+                latencies[bucket] += histograms[customer][bucket];
+            }
+        }
+        // A successful purchase takes exactly the requested tickets, a failed one takes none
+        return new RunResult(configuration.getTicketPoolStrategy(), elapsedSeconds, totalPurchases * ticketsPerPurchase,
+                totalPurchases, totalFailedAttempts, latencies);
+    }
+
+    // Latency bucket of a purchase: bucket i holds latencies below 2^i nanoseconds
+    private static int bucketOf(long nanos) {
+        return Math.min(LATENCY_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    // Measurements of one strategy, the latency histogram covers successful purchases only
+    private record RunResult(TicketPoolStrategy strategy, double elapsedSeconds, long ticketsSold, long purchases,
+                             long failedAttempts, long[] latencyHistogram) {
+
+        // Upper bound of the latency bucket holding the percentile of successful purchases
+        double latencyPercentileMicros(double percentile) {
+            long target = Math.max(1, (long) Math.ceil(purchases * percentile / 100.0));
+            long seen = 0;
+            for (int bucket = 0; bucket < latencyHistogram.length; bucket++) {
+                seen += latencyHistogram[bucket];
+                if (seen >= target) {
+                    return (1L << bucket) / 1000.0;
+                }
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.tms.threadExecutor;
+
+import org.tms.ticketPool.TicketPool;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Worker threads for timed runs against a {@link TicketPool}, shared by the A/B runner and the stress harness.</br>
+ * Every worker waits for a common start signal and repeats its step without pauses or console output
+ * until the run ends. A step that made no progress makes its worker back off exponentially,
+ * so idle customers polling a non-blocking pool do not starve the threads that make progress.
+ */
+public class TicketPoolWorkload {
+
+    /**
+     * One operation of a worker thread.
+     */
+    @FunctionalInterface
+    public interface Step {
+
+        /**
+         * Performs one operation against the pool.
+         *
+         * @param workerId the 1-based ID of the worker within its group
+         * @return true if the operation made progress, false if the worker should back off before the next one
+         * @throws InterruptedException if the worker is interrupted while waiting
+         */
+        boolean run(int workerId) throws InterruptedException;
+    }
+
+    // Initial and maximum back-off of a worker whose step made no progress
+    private static final long INITIAL_BACK_OFF_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long MAX_BACK_OFF_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    // Time the interrupted workers get to stop before they are reported as stuck
+    private static final long STOP_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+
+    // Released once every worker has been started
+    private final CountDownLatch startSignal = new CountDownLatch(1);
+
+    // Worker threads of the run
+    private final List<Thread> threads = new ArrayList<>();
+
+    // Unexpected exceptions thrown by the workers
+    private final List<Throwable> failures = new CopyOnWriteArrayList<>();
+
+    // Flag to stop the worker threads
+    private volatile boolean isRunning = true;
+
+    /**
+     * Adds a group of workers that repeat the same step.
+     * Workers are daemon threads so a worker stuck in the pool cannot keep the JVM alive.
+     *
+     * @param name  the thread name prefix of the group
+     * @param count the number of workers, numbered from 1
+     * @param step  the operation every worker repeats
+     */
+    public void addWorkers(String name, int count, Step step) {
+        for (int i = 1; i <= count; i++) {
+            int workerId = i;
+            Thread thread = new Thread(() -> work(workerId, step), name + "-" + workerId);
+            thread.setDaemon(true);
+            threads.add(thread);
+        }
+    }
+
+    /**
+     * Starts all workers together, lets them run and stops them again.
+     * Workers still waiting inside the pool when the time is up are interrupted.
+     * A worker that has not stopped a few seconds later is added to the failures with its stack trace.
+     *
+     * @param durationMillis how long the workers run
+     * @return the seconds between the start signal and the stop
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public double run(long durationMillis) throws InterruptedException {
+        threads.forEach(Thread::start);
+        long started = System.nanoTime();
+        startSignal.countDown();
+        TimeUnit.MILLISECONDS.sleep(durationMillis);
+        isRunning = false;
+        double elapsedSeconds = (System.nanoTime() - started) / 1_000_000_000.0;
+
+        // Threads waiting for their turn or for room in the pool only stop when interrupted
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(STOP_TIMEOUT_MILLIS);
+        for (Thread thread : threads) {
+            thread.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            if (thread.isAlive()) {
+                IllegalStateException stuck = new IllegalStateException(thread.getName() + " did not stop within "
+                        + STOP_TIMEOUT_MILLIS + " ms after the run ended");
+                stuck.setStackTrace(thread.getStackTrace());
+                failures.add(stuck);
+            }
+        }
+        return elapsedSeconds;
+    }
+
+    /**
+     * Gets the unexpected exceptions that ended workers early and the workers that did not stop.
+     *
+     * @return the failures of the run
+     */
+    public List<Throwable> getFailures() {
+        return failures;
+    }
+
+    // Main loop of a worker thread
+    private void work(int workerId, Step step) {
+        try {
+            startSignal.await();
+            long backOffNanos = INITIAL_BACK_OFF_NANOS;
+            while (isRunning) {
+                if (step.run(workerId)) {
+                    backOffNanos = INITIAL_BACK_OFF_NANOS;
+                } else {
+                    LockSupport.parkNanos(backOffNanos);
+                    backOffNanos = Math.min(backOffNanos * 2, MAX_BACK_OFF_NANOS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            failures.add(e);
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package org.tms.ticketPool;
+
+import org.tms.configuration.Configuration;
+
+import java.io.*;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link TicketPool} in which vendors and customers take turns under a single lock.
+ * The class also maintains a history of ticket transactions and supports saving this history to a file.
+ */
+public class AlternatingLockTicketPool implements TicketPool {
+
+    // Queue to store available tickets
+    private final Queue<Ticket> tickets = new ConcurrentLinkedQueue<>();
+
+    // Counter for generating unique ticket IDs
+    private final AtomicInteger ticketCounter = new AtomicInteger(0);
+
+    // Counter for tickets bought by customers
+    private final AtomicInteger soldCounter = new AtomicInteger(0);
+
+    // Number of tickets currently in the pool, written under the lock
+    private volatile int availableTickets;
+
+    // Highest number of tickets held by the pool at once, guarded by the lock
+    private volatile int peakTicketCount;
+
+    // Contention statistics of the lock and the vendor/customer turns
+    private final AtomicLong lockAcquisitions = new AtomicLong();
+    private final AtomicLong contendedAcquisitions = new AtomicLong();
+    private final AtomicLong turnWaits = new AtomicLong();
+
+    // Map to maintain ticket history
+    private final Map<Integer, String> ticketHistory = new ConcurrentHashMap<>();
+
+    // Listeners notified of ticket pool events
+    private final List<TicketPoolListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Lock for thread synchronization
+    private final ReentrantLock lock = new ReentrantLock();
+
+    // Condition for managing vendor and customer turns
+    private final Condition condition = lock.newCondition();
+
+    // Flag to alternate turns between vendors and customers
+    private boolean isVendorTurn = true;
+
+    // File path for saving ticket history
+    private static final String TICKET_HISTORY_FILE = "src/main/resources/TicketHistory.txt";
+
+    // Configuration instance for retrieving system settings
+    final Configuration configuration;
+
+    /**
+     * Creates a ticket pool using the given configuration.
+     *
+     * @param configuration the configuration providing the capacity and initial tickets
+     */
+    public AlternatingLockTicketPool(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Initializes the ticket pool with a predefined number of tickets from the configuration.
+     * Each ticket is assigned a unique ID and marked as available.
+     */
+    @Override
+    public void initializeAvailableTickets() {
+        int totalAvailableTickets = configuration.getTotalTickets();
+        long releasedAt = System.nanoTime();
+        acquireLock();
+        try {
+            for (int j = 0; j < totalAvailableTickets; j++) {
+                int ticketId = ticketCounter.incrementAndGet();
+                tickets.add(new Ticket(ticketId, 0, releasedAt));
+                ticketHistory.put(ticketId, "Available");
+            }
+            availableTickets += totalAvailableTickets;
+            peakTicketCount = Math.max(peakTicketCount, availableTickets);
+            for (TicketPoolListener listener : listeners) {
+                listener.onTicketsAdded(0, totalAvailableTickets, releasedAt);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Allows a vendor to add a specified number of tickets to the pool.
+     * Tickets that do not fit into the maximum ticket capacity are not released.
+     *
+     * @param count    the number of tickets to add
+     * @param vendorId the ID of the vendor adding the tickets
+     * @throws InterruptedException if the thread is interrupted while waiting for its turn
+     */
+    @Override
+    public void addTicket(int count, int vendorId) throws InterruptedException {
+        acquireLock();
+        try {
+            // Wait until it is the vendor's turn
+            while (!isVendorTurn) {
+                turnWaits.incrementAndGet();
+                condition.await();
+            }
+            // Add as many tickets as the capacity allows and update history
+            int released = Math.min(count, configuration.getMaxTicketCapacity() - availableTickets);
+            long releasedAt = System.nanoTime();
+            for (int i = 0; i < released; i++) {
+                int ticketId = ticketCounter.incrementAndGet();
+                tickets.add(new Ticket(ticketId, vendorId, releasedAt));
+                ticketHistory.put(ticketId, "Added by Vendor " + vendorId);
+            }
+            if (released > 0) {
+                availableTickets += released;
+                peakTicketCount = Math.max(peakTicketCount, availableTickets);
+                for (TicketPoolListener listener : listeners) {
+                    listener.onTicketsAdded(vendorId, released, releasedAt);
+                }
+            }
+            // Switch to customer's turn and signal all waiting threads
+            isVendorTurn = false;
+            condition.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Monitor-based variant of {@link #addTicket(int, int)}.
+     * It used to synchronize on the pool's own monitor, which does not exclude threads holding the lock,
+     * so it now goes through the same lock and condition.
+     *
+     * @param count    the number of tickets to add
+     * @param vendorId the ID of the vendor adding the tickets
+     * @throws InterruptedException if the thread is interrupted while waiting for its turn
+     */
+    public void addTicket2(int count, int vendorId) throws InterruptedException {
+        addTicket(count, vendorId);
+    }
+
+    /**
+     * Allows a customer to retrieve a specified number of tickets from the pool.
+     *
+     * @param count      the number of tickets to retrieve
+     * @param customerId the ID of the customer retrieving the tickets
+     * @return true if the customer successfully retrieves the requested number of tickets, false otherwise
+     * @throws InterruptedException if the thread is interrupted while waiting for its turn
+     */
+    @Override
+    public boolean removeTickets(int count, int customerId) throws InterruptedException {
+        return claimTickets(count, customerId).length == count; // Return true if all requested tickets were retrieved
+    }
+
+    /**
+     * Allows a customer to retrieve a specified number of tickets from the pool.
+     * The customer gets all requested tickets or none.
+     *
+     * @param count      the number of tickets to retrieve
+     * @param customerId the ID of the customer retrieving the tickets
+     * @return the IDs of the retrieved tickets, empty if the pool holds fewer than {@code count} tickets
+     * @throws InterruptedException if the thread is interrupted while waiting for its turn
+     */
+    @Override
+    public int[] claimTickets(int count, int customerId) throws InterruptedException {
+        acquireLock();
+        try {
+            // Wait until it is the customer's turn
+            while (isVendorTurn) {
+                turnWaits.incrementAndGet();
+                condition.await();
+            }
+            long soldAt = System.nanoTime();
+            int[] ticketIds;
+            if (availableTickets < count) {
+                // Not enough tickets, leave the pool untouched
+                ticketIds = new int[0];
+                for (TicketPoolListener listener : listeners) {
+                    listener.onPurchaseFailed(customerId, count, soldAt);
+                }
+            } else {
+                ticketIds = new int[Math.max(0, count)];
+                // Retrieve tickets from the pool, the lock guarantees they are all there
+                for (int i = 0; i < ticketIds.length; i++) {
+                    Ticket ticket = tickets.poll();
+                    ticketHistory.put(ticket.id(), ticketHistory.get(ticket.id()) + " Bought by Customer " + customerId);
+                    ticketIds[i] = ticket.id();
+                    for (TicketPoolListener listener : listeners) {
+                        listener.onTicketSold(ticket.id(), ticket.vendorId(), customerId, ticket.releasedAtNanos(), soldAt);
+                    }
+                }
+                availableTickets -= ticketIds.length;
+                soldCounter.addAndGet(ticketIds.length);
+            }
+            // Switch to vendor's turn and signal all waiting threads
+            isVendorTurn = true;
+            condition.signalAll();
+            return ticketIds;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Hands tickets to several queued buyers in order within a single lock acquisition.
+     * Every buyer gets all requested tickets; dispatching stops at the first buyer that cannot be served in full.
+     *
+     * @param counts      the number of tickets each buyer requested
+     * @param customerIds the IDs of the buyers, in queue order
+     * @return the IDs of the tickets of each served buyer, one entry per served buyer from the head of the queue
+     * @throws InterruptedException if the thread is interrupted while waiting for the customers' turn
+     */
+    @Override
+    public int[][] dispatchTickets(int[] counts, int[] customerIds) throws InterruptedException {
+        acquireLock();
+        try {
+            // Wait until it is the customers' turn
+            while (isVendorTurn) {
+                turnWaits.incrementAndGet();
+                condition.await();
+            }
+            int served = 0;
+            int remaining = availableTickets;
+            while (served < counts.length && counts[served] <= remaining) {
+                remaining -= counts[served];
+                served++;
+            }
+
+            int[][] ticketIds = new int[served][];
+            long soldAt = System.nanoTime();
+            int retrieved = 0;
+            for (int buyer = 0; buyer < served; buyer++) {
+                ticketIds[buyer] = new int[counts[buyer]];
+                for (int i = 0; i < counts[buyer]; i++) {
+                    Ticket ticket = tickets.poll();
+                    ticketHistory.put(ticket.id(), ticketHistory.get(ticket.id()) + " Bought by Customer " + customerIds[buyer]);
+                    ticketIds[buyer][i] = ticket.id();
+                    for (TicketPoolListener listener : listeners) {
+                        listener.onTicketSold(ticket.id(), ticket.vendorId(), customerIds[buyer], ticket.releasedAtNanos(), soldAt);
+                    }
+                }
+                retrieved += counts[buyer];
+            }
+            availableTickets -= retrieved;
+            soldCounter.addAndGet(retrieved);
+            // Switch to vendor's turn and signal all waiting threads
+            isVendorTurn = true;
+            condition.signalAll();
+            return ticketIds;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Retrieves the current number of tickets available in the pool.
+     *
+     * @return the count of available tickets
+     */
+    @Override
+    public int getTicketCount() {
+        return availableTickets;
+    }
+
+    /**
+     * Gets the number of tickets released into the pool so far, including the initial tickets.
+     *
+     * @return the number of released tickets
+     */
+    @Override
+    public long getTicketsAdded() {
+        return ticketCounter.get();
+    }
+
+    /**
+     * Gets the number of tickets bought by customers so far.
+     *
+     * @return the number of sold tickets
+     */
+    @Override
+    public long getTicketsSold() {
+        return soldCounter.get();
+    }
+
+    /**
+     * Gets the highest number of tickets the pool has held at once.
+     *
+     * @return the peak ticket count
+     */
+    public int getPeakTicketCount() {
+        return peakTicketCount;
+    }
+
+    /**
+     * Gets the number of times the pool lock was acquired.
+     *
+     * @return the number of lock acquisitions
+     */
+    public long getLockAcquisitions() {
+        return lockAcquisitions.get();
+    }
+
+    /**
+     * Gets the number of lock acquisitions that found the lock already held.
+     *
+     * @return the number of contended lock acquisitions
+     */
+    public long getContendedAcquisitions() {
+        return contendedAcquisitions.get();
+    }
+
+    /**
+     * Gets the number of times a vendor or customer had to wait for its turn.
+     *
+     * @return the number of turn waits
+     */
+    public long getTurnWaits() {
+        return turnWaits.get();
+    }
+
+    /**
+     * Reads the IDs of the tickets held in the queue, in release order.
+     * Only consistent while no vendor or customer is using the pool.
+     *
+     * @return the IDs of the queued tickets
+     */
+    int[] availableTicketIds() {
+        return tickets.stream().mapToInt(Ticket::id).toArray();
+    }
+
+    /**
+     * Registers a listener to be notified of ticket pool events.
+     *
+     * @param listener the listener to add
+     */
+    @Override
+    public void addListener(TicketPoolListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Gets a read-only view of the ticket history.
+     *
+     * @return the ticket history keyed by ticket ID
+     */
+    public Map<Integer, String> getTicketHistory() {
+        return Collections.unmodifiableMap(ticketHistory);
+    }
+
+    /**
+     * Saves the ticket history to a file for future reference.
+     * Each ticket's ID and transaction details are written to the file.
+     */
+    @Override
+    public void saveTicketHistory() {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(TICKET_HISTORY_FILE))) {
+            for (Map.Entry<Integer, String> entry : ticketHistory.entrySet()) {
+                writer.write("Ticket ID: " + entry.getKey() + ", " + entry.getValue());
+                writer.newLine();
+            }
+            System.out.println("Ticket history saved");
+        } catch (IOException e) {
+            System.err.println("Failed to save ticket history to file:");
+            e.printStackTrace();
+        }
+    }
+
+    // Acquires the lock, recording whether another thread was holding it
+    private void acquireLock() {
+        if (!lock.tryLock()) {
+            contendedAcquisitions.incrementAndGet();
+            lock.lock();
+        }
+        lockAcquisitions.incrementAndGet();
+    }
+
+    // Available ticket together with the vendor and time of its release
+    private record Ticket(int id, int vendorId, long releasedAtNanos) {
+    }
+}
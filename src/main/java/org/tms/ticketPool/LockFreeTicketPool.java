@@ -0,0 +1,446 @@
+package org.tms.ticketPool;
+
+import org.tms.configuration.Configuration;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free {@link TicketPool}.</br>
+ * Tickets live in a ring of {@code maxTicketCapacity} slots. Every slot holds a single {@code long} state:
+ * the ticket ID in the high 32 bits and the buying customer's ID in the low 32 bits
+ * (0 while the ticket is still available).</br>
+ * - Vendors reserve a range of ticket sequences, fill the slots and publish them by advancing the release cursor.</br>
+ * - Customers claim a whole range from the claim cursor with a single CAS and then flip every slot
+ * from AVAILABLE to SOLD with a per-slot CAS.</br>
+ * No locks are taken on the purchase path; a customer either gets all requested tickets or none.
+ * Before a vendor refills a slot it archives the sold ticket's vendor and buyer, so the ticket history
+ * covers every ticket and not only those still in the ring.
+ */
+public class LockFreeTicketPool implements TicketPool {
+
+    // Slot state of a slot that has never held a ticket
+    private static final long EMPTY = 0L;
+
+    // Mask for the customer ID packed into the low 32 bits of a slot
+    private static final long CUSTOMER_MASK = 0xFFFFFFFFL;
+
+    // Busy-spin iterations before a waiting vendor yields its time slice
+    private static final int SPINS_BEFORE_YIELD = 64;
+
+    // Yielding iterations before a waiting vendor starts parking
+    private static final int SPINS_BEFORE_PARK = 128;
+
+    // Time a waiting vendor parks for once spinning and yielding did not help
+    private static final long BACK_OFF_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(10);
+
+    // Initial and maximum time a vendor parks for while the pool is at capacity
+    private static final long FULL_POOL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_FULL_POOL_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    // Highest ticket sequence that can be handed out, its ticket ID is Integer.MAX_VALUE
+    private static final long MAX_SEQUENCE = Integer.MAX_VALUE - 1L;
+
+    // File path for saving ticket history
+    private static final String TICKET_HISTORY_FILE = "src/main/resources/TicketHistory.txt";
+
+    // Number of ticket sequences per chunk of the archived ticket history
+    private static final int HISTORY_CHUNK_BITS = 16;
+    private static final int HISTORY_CHUNK_SIZE = 1 << HISTORY_CHUNK_BITS;
+
+    // Number of slots in the ring, equal to the maximum ticket capacity
+    private final int capacity;
+
+    // Number of tickets available at the beginning of the simulation
+    private final int totalTickets;
+
+    // Packed ticket/customer state of each slot
+    private final AtomicLongArray slots;
+
+    // Vendor and release time of the ticket currently held in each slot, published by the release cursor
+    private final int[] slotVendors;
+    private final long[] slotReleasedAt;
+
+    // Next ticket sequence to be handed to a vendor
+    private final AtomicLong reserveCursor = new AtomicLong();
+
+    // Ticket sequences below this cursor are visible to customers
+    private final AtomicLong releaseCursor = new AtomicLong();
+
+    // Ticket sequences below this cursor have been claimed by customers
+    private final AtomicLong claimCursor = new AtomicLong();
+
+    // Highest number of tickets reserved or held by the pool at once
+    private final AtomicLong peakTicketCount = new AtomicLong();
+
+    // Listeners notified of ticket pool events
+    private final List<TicketPoolListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Vendor and buyer of every ticket whose slot was refilled, packed into the high and low 32 bits and
+    // indexed by ticket sequence; chunks are allocated when the first of their tickets is archived
+    private final AtomicReferenceArray<long[]> archivedTickets =
+            new AtomicReferenceArray<>((int) (MAX_SEQUENCE >>> HISTORY_CHUNK_BITS) + 1);
+
+    /**
+     * Creates a pool sized by the given configuration.
+     *
+     * @param configuration the configuration providing the capacity and initial tickets
+     */
+    public LockFreeTicketPool(Configuration configuration) {
+        if (configuration.getMaxTicketCapacity() <= 0) {
+            throw new IllegalArgumentException("Ticket capacity must be positive for the lock-free pool");
+        }
+        this.capacity = configuration.getMaxTicketCapacity();
+        this.totalTickets = configuration.getTotalTickets();
+        this.slots = new AtomicLongArray(capacity);
+        this.slotVendors = new int[capacity];
+        this.slotReleasedAt = new long[capacity];
+    }
+
+    /**
+     * Initializes the ticket pool with a predefined number of tickets from the configuration.
+     * Initial tickets are released under vendor ID 0.
+     */
+    @Override
+    public void initializeAvailableTickets() {
+        try {
+            addTicket(totalTickets, 0); // The empty pool has room for them, so this does not wait
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Allows a vendor to add a specified number of tickets to the pool.
+     * Waits while the pool is full, then releases as many of the tickets as fit into the remaining capacity.
+     *
+     * @param count    the number of tickets to add
+     * @param vendorId the ID of the vendor adding the tickets
+     * @throws InterruptedException if the thread is interrupted while waiting for room in the pool
+     * @throws IllegalStateException if the tickets would need IDs beyond {@link Integer#MAX_VALUE}
+     */
+    @Override
+    public void addTicket(int count, int vendorId) throws InterruptedException {
+        if (count <= 0) {
+            return;
+        }
+
+        // Reserve as many sequences as the pool has room for, once it is not full
+        long start;
+        long claimed;
+        int released;
+        long parkNanos = FULL_POOL_PARK_NANOS;
+        while (true) {
+            start = reserveCursor.get();
+            claimed = claimCursor.get();
+            long room = capacity - (start - claimed);
+            if (room <= 0) {
+                if (Thread.interrupted()) {
+                    throw new InterruptedException("Vendor " + vendorId + " interrupted while the pool was full");
+                }
+                // Back off exponentially so waiting vendors do not starve the customers that make room
+                LockSupport.parkNanos(parkNanos);
+                parkNanos = Math.min(parkNanos * 2, MAX_FULL_POOL_PARK_NANOS);
+                continue;
+            }
+            released = (int) Math.min(count, room);
+            if (start + released - 1 > MAX_SEQUENCE) {
+                // Ticket IDs are ints packed into 32 bits of the slot state; wrapping would repeat IDs
+                throw new IllegalStateException("Ticket IDs exhausted after " + start + " tickets, cannot release "
+                        + released + " more");
+            }
+            if (reserveCursor.compareAndSet(start, start + released)) {
+                break;
+            }
+        }
+
+        // The claim cursor only grows, so this is an upper bound of the tickets held right after the reservation
+        long held = start + released - claimed;
+        if (held > peakTicketCount.get()) {
+            peakTicketCount.accumulateAndGet(held, Math::max);
+        }
+
+        // Fill the reserved slots
+        long releasedAt = System.nanoTime();
+        for (long sequence = start; sequence < start + released; sequence++) {
+            int index = indexOf(sequence);
+            // The previous ticket in this slot is already claimed, but its buyer may still be marking it sold
+            int spins = 0;
+            long previous = slots.get(index);
+            while (previous != EMPTY && (previous & CUSTOMER_MASK) == 0) {
+                spins = backOff(spins);
+                previous = slots.get(index);
+            }
+            if (previous != EMPTY) {
+                archiveTicket(ticketIdOf(previous) - 1L, slotVendors[index], (int) (previous & CUSTOMER_MASK));
+            }
+            slotVendors[index] = vendorId;
+            slotReleasedAt[index] = releasedAt;
+            slots.set(index, available(sequence));
+        }
+
+        // Publish in reservation order so the release cursor never exposes an unfilled slot
+        int spins = 0;
+        while (releaseCursor.get() != start) {
+            spins = backOff(spins);
+        }
+        releaseCursor.set(start + released);
+        for (TicketPoolListener listener : listeners) {
+            listener.onTicketsAdded(vendorId, released, releasedAt);
+        }
+    }
+
+    /**
+     * Allows a customer to retrieve a specified number of tickets from the pool.
+     *
+     * @param count      the number of tickets to retrieve
+     * @param customerId the ID of the customer retrieving the tickets
+     * @return true if the customer successfully retrieves the requested number of tickets, false otherwise
+     */
+    @Override
+    public boolean removeTickets(int count, int customerId) {
+        return claimTickets(count, customerId).length == count;
+    }
+
+    /**
+     * Claims a specified number of tickets for a customer without taking any lock.
+     *
+     * @param count      the number of tickets to claim
+     * @param customerId the ID of the customer claiming the tickets, must be positive
+     * @return the IDs of the claimed tickets, empty if not enough tickets are available
+     * @throws IllegalStateException if a claimed ticket turns out to be sold already
+     */
+    @Override
+    public int[] claimTickets(int count, int customerId) {
+        if (customerId <= 0) {
+            throw new IllegalArgumentException("Customer ID must be positive, was " + customerId);
+        }
+        if (count <= 0) {
+            return new int[0];
+        }
+
+        // Claim the whole range at once so the customer gets all tickets or none
+        long start;
+        do {
+            start = claimCursor.get();
+            if (releaseCursor.get() - start < count) {
+                for (TicketPoolListener listener : listeners) {
+                    listener.onPurchaseFailed(customerId, count, System.nanoTime());
+                }
+                return new int[0];
+            }
+        } while (!claimCursor.compareAndSet(start, start + count));
+
+        // Mark every claimed slot as sold to this customer
+        int[] ticketIds = new int[count];
+        int[] vendorIds = new int[count];
+        long[] releasedAt = new long[count];
+        long soldAt = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            long sequence = start + i;
+            int index = indexOf(sequence);
+            long expected = available(sequence);
+            // Read the release details first, the vendor may refill the slot as soon as it is sold
+            vendorIds[i] = slotVendors[index];
+            releasedAt[i] = slotReleasedAt[index];
+            if (!slots.compareAndSet(index, expected, expected | customerId)) {
+                throw new IllegalStateException("Ticket " + ticketIdOf(expected) + " was already sold, slot state: "
+                        + Long.toHexString(slots.get(index)));
+            }
+            ticketIds[i] = ticketIdOf(expected);
+        }
+
+        // Notify only once every slot is sold: vendors waiting to refill these slots must not wait for listeners,
+        // and a failing listener must not leave claimed slots available forever
+        for (TicketPoolListener listener : listeners) {
+            for (int i = 0; i < count; i++) {
+                listener.onTicketSold(ticketIds[i], vendorIds[i], customerId, releasedAt[i], soldAt);
+            }
+        }
+        return ticketIds;
+    }
+
+    /**
+     * Hands tickets to several queued buyers in order, claiming each buyer's tickets without a lock.
+     *
+     * @param counts      the number of tickets each buyer requested
+     * @param customerIds the IDs of the buyers, in queue order
+     * @return the IDs of the tickets of each served buyer, one entry per served buyer from the head of the queue
+     */
+    @Override
+    public int[][] dispatchTickets(int[] counts, int[] customerIds) {
+        int[][] ticketIds = new int[counts.length][];
+        int served = 0;
+        while (served < counts.length) {
+            // Check first so that a buyer who cannot be served is not reported as a failed purchase
+            if (getTicketCount() < counts[served]) {
+                break;
+            }
+            int[] claimed = claimTickets(counts[served], customerIds[served]);
+            if (claimed.length < counts[served]) {
+                break;
+            }
+            ticketIds[served++] = claimed;
+        }
+        return served == counts.length ? ticketIds : Arrays.copyOf(ticketIds, served);
+    }
+
+    /**
+     * Retrieves the current number of tickets available in the pool.
+     *
+     * @return the count of available tickets
+     */
+    @Override
+    public int getTicketCount() {
+        return (int) Math.max(0, releaseCursor.get() - claimCursor.get());
+    }
+
+    /**
+     * Gets the number of tickets released into the pool so far.
+     *
+     * @return the number of released tickets
+     */
+    @Override
+    public long getTicketsAdded() {
+        return releaseCursor.get();
+    }
+
+    /**
+     * Gets the number of tickets sold so far.
+     *
+     * @return the number of sold tickets
+     */
+    @Override
+    public long getTicketsSold() {
+        return claimCursor.get();
+    }
+
+    /**
+     * Gets the highest number of tickets the pool has reserved or held at once.
+     *
+     * @return the peak ticket count
+     */
+    public int getPeakTicketCount() {
+        return (int) peakTicketCount.get();
+    }
+
+    /**
+     * Gets the maximum number of tickets the pool can hold at a time.
+     *
+     * @return the ticket capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Reads the IDs of the tickets between the claim and release cursors from their ring slots, in release order.
+     * A slot that does not hold an available ticket is reported as 0.
+     * Only consistent while no vendor or customer is using the pool.
+     *
+     * @return the IDs of the available tickets as stored in the ring
+     */
+    int[] availableTicketIds() {
+        long start = claimCursor.get();
+        int[] ticketIds = new int[(int) (releaseCursor.get() - start)];
+        for (int i = 0; i < ticketIds.length; i++) {
+            long state = slots.get(indexOf(start + i));
+            ticketIds[i] = (state & CUSTOMER_MASK) == 0 ? ticketIdOf(state) : 0;
+        }
+        return ticketIds;
+    }
+
+    /**
+     * Registers a listener to be notified of ticket pool events.
+     *
+     * @param listener the listener to add
+     */
+    @Override
+    public void addListener(TicketPoolListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Saves the ticket history to a file for future reference.
+     * Tickets whose slots were refilled come from the archive, the rest from the ring, all in release order.
+     * Only consistent while no vendor or customer is using the pool.
+     */
+    @Override
+    public void saveTicketHistory() {
+        long released = releaseCursor.get();
+        long archived = Math.max(0, released - capacity);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(TICKET_HISTORY_FILE))) {
+            for (long sequence = 0; sequence < archived; sequence++) {
+                long record = archivedTickets.get((int) (sequence >>> HISTORY_CHUNK_BITS))
+                        [(int) (sequence & (HISTORY_CHUNK_SIZE - 1))];
+                writer.write(historyEntry(sequence + 1, (int) (record >>> 32), (int) (record & CUSTOMER_MASK)));
+                writer.newLine();
+            }
+            for (long sequence = archived; sequence < released; sequence++) {
+                int index = indexOf(sequence);
+                writer.write(historyEntry(sequence + 1, slotVendors[index], (int) (slots.get(index) & CUSTOMER_MASK)));
+                writer.newLine();
+            }
+            System.out.println("Ticket history saved");
+        } catch (IOException e) {
+            System.err.println("Failed to save ticket history to file:");
+            e.printStackTrace();
+        }
+    }
+
+    // Records the vendor and buyer of a sold ticket before its slot is refilled
+    private void archiveTicket(long sequence, int vendorId, int customerId) {
+        int chunkIndex = (int) (sequence >>> HISTORY_CHUNK_BITS);
+        long[] chunk = archivedTickets.get(chunkIndex);
+        if (chunk == null) {
+            // Vendors filling slots of the same chunk may race to allocate it, the first one wins
+            chunk = new long[HISTORY_CHUNK_SIZE];
+            if (!archivedTickets.compareAndSet(chunkIndex, null, chunk)) {
+                chunk = archivedTickets.get(chunkIndex);
+            }
+        }
+        chunk[(int) (sequence & (HISTORY_CHUNK_SIZE - 1))] = ((long) vendorId << 32) | (customerId & CUSTOMER_MASK);
+    }
+
+    // History line of a ticket in the format of the alternating-lock pool, initial tickets have vendor ID 0
+    private static String historyEntry(long ticketId, int vendorId, int customerId) {
+        String entry = "Ticket ID: " + ticketId + ", " + (vendorId == 0 ? "Available" : "Added by Vendor " + vendorId);
+        if (customerId != 0) {
+            entry += " Bought by Customer " + customerId;
+        }
+        return entry;
+    }
+
+    // Maps a ticket sequence to its slot in the ring
+    private int indexOf(long sequence) {
+        return (int) (sequence % capacity);
+    }
+
+    // Slot state of an available ticket, ticket IDs start at 1 so that it never equals EMPTY
+    private static long available(long sequence) {
+        return (sequence + 1) << 32;
+    }
+
+    private static int ticketIdOf(long state) {
+        return (int) (state >>> 32);
+    }
+
+    // Spins briefly, then yields and finally parks so a preempted thread can finish its work
+    private static int backOff(int spins) {
+        if (spins < SPINS_BEFORE_YIELD) {
+            Thread.onSpinWait();
+        } else if (spins < SPINS_BEFORE_PARK) {
+            Thread.yield();
+        } else {
+            LockSupport.parkNanos(BACK_OFF_PARK_NANOS);
+        }
+        return spins + 1;
+    }
+}
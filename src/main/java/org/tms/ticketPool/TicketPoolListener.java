@@ -0,0 +1,41 @@
+package org.tms.ticketPool;
+
+/**
+ * Receives ticket pool events as they happen.
+ * Listeners are called on vendor and customer threads, sometimes while the pool holds its lock,
+ * so implementations must be thread-safe and cheap. Events a listener is not interested in can be left out.
+ */
+public interface TicketPoolListener {
+
+    /**
+     * Called after a vendor released tickets into the pool.
+     *
+     * @param vendorId        the ID of the vendor, 0 for the initial tickets
+     * @param count           the number of tickets released
+     * @param releasedAtNanos the {@link System#nanoTime()} of the release
+     */
+    default void onTicketsAdded(int vendorId, int count, long releasedAtNanos) {
+    }
+
+    /**
+     * Called for every ticket bought by a customer.
+     *
+     * @param ticketId        the ID of the ticket
+     * @param vendorId        the ID of the vendor that released the ticket
+     * @param customerId      the ID of the customer that bought the ticket
+     * @param releasedAtNanos the {@link System#nanoTime()} at which the ticket was released
+     * @param soldAtNanos     the {@link System#nanoTime()} at which the ticket was sold
+     */
+    default void onTicketSold(int ticketId, int vendorId, int customerId, long releasedAtNanos, long soldAtNanos) {
+    }
+
+    /**
+     * Called when a customer could not get all requested tickets.
+     *
+     * @param customerId    the ID of the customer
+     * @param requested     the number of tickets requested
+     * @param failedAtNanos the {@link System#nanoTime()} of the attempt
+     */
+    default void onPurchaseFailed(int customerId, int requested, long failedAtNanos) {
+    }
+}
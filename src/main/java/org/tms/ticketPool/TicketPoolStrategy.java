@@ -0,0 +1,65 @@
+package org.tms.ticketPool;
+
+import org.tms.configuration.Configuration;
+
+/**
+ * Available {@link TicketPool} implementations, selectable through the configuration file.
+ */
+public enum TicketPoolStrategy {
+
+    // Vendors and customers take turns under a single lock
+    ALTERNATING_LOCK("alternating-lock") {
+        @Override
+        public TicketPool create(Configuration configuration) {
+            return new AlternatingLockTicketPool(configuration);
+        }
+    },
+
+    // Customers claim tickets with CAS, no locks on the purchase path
+    LOCK_FREE("lock-free") {
+        @Override
+        public TicketPool create(Configuration configuration) {
+            return new LockFreeTicketPool(configuration);
+        }
+    };
+
+    // Name used in the configuration file and on the command line
+    private final String configName;
+
+    TicketPoolStrategy(String configName) {
+        this.configName = configName;
+    }
+
+    /**
+     * Creates a ticket pool of this strategy.
+     *
+     * @param configuration the configuration of the pool
+     * @return a new, empty ticket pool
+     */
+    public abstract TicketPool create(Configuration configuration);
+
+    /**
+     * Gets the name of the strategy as used in the configuration file.
+     *
+     * @return the configuration name
+     */
+    public String getConfigName() {
+        return configName;
+    }
+
+    /**
+     * Looks up a strategy by its configuration name.
+     *
+     * @param configName the configuration name, e.g. {@code lock-free}
+     * @return the matching strategy
+     * @throws IllegalArgumentException if no strategy has that name
+     */
+    public static TicketPoolStrategy fromConfigName(String configName) {
+        for (TicketPoolStrategy strategy : values()) {
+            if (strategy.configName.equalsIgnoreCase(configName.trim())) {
+                return strategy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown ticket pool strategy: " + configName);
+    }
+}
@@ -0,0 +1,94 @@
+package org.tms.waitingRoom;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * A customer's place in the {@link WaitingRoom}.
+ * The token is completed by the waiting room once tickets have been dispatched to the customer,
+ * or cancelled when the waiting room closes.
+ */
+public class QueueToken {
+
+    // Position of the token in the order of arrival, starting at 1
+    private final long position;
+
+    // ID of the customer holding the token
+    private final int customerId;
+
+    // Number of tickets the customer is waiting for
+    private final int count;
+
+    // Estimated wait in milliseconds at the time the token was issued, -1 if unknown
+    private final long estimatedWaitMillis;
+
+    // Released once the token is completed or cancelled
+    private final CountDownLatch done = new CountDownLatch(1);
+
+    // Tickets dispatched to the customer, null until completed or if cancelled
+    private volatile int[] ticketIds;
+
+    QueueToken(long position, int customerId, int count, long estimatedWaitMillis) {
+        this.position = position;
+        this.customerId = customerId;
+        this.count = count;
+        this.estimatedWaitMillis = estimatedWaitMillis;
+    }
+
+    /**
+     * Waits until tickets have been dispatched to this token.
+     *
+     * @return the IDs of the dispatched tickets, or null if the waiting room closed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public int[] awaitTickets() throws InterruptedException {
+        done.await();
+        return ticketIds;
+    }
+
+    /**
+     * Gets the position of the token in the order of arrival.
+     *
+     * @return the queue position, starting at 1
+     */
+    public long getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the ID of the customer holding the token.
+     *
+     * @return the customer ID
+     */
+    public int getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Gets the number of tickets the customer is waiting for.
+     *
+     * @return the requested ticket count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the estimated wait at the time the token was issued.
+     *
+     * @return the estimated wait in milliseconds, -1 if no tickets had been released yet
+     */
+    public long getEstimatedWaitMillis() {
+        return estimatedWaitMillis;
+    }
+
+    // Hands the dispatched tickets to the waiting customer
+    void complete(int[] ticketIds) {
+        this.ticketIds = ticketIds;
+        done.countDown();
+    }
+
+    // Releases the waiting customer without tickets
+    void cancel() {
+        done.countDown();
+    }
+}
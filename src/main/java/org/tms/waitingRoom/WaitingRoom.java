@@ -0,0 +1,235 @@
+package org.tms.waitingRoom;
+
+import org.tms.ticketPool.TicketPool;
+import org.tms.ticketPool.TicketPoolListener;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waiting room placed in front of a {@link TicketPool} for on-sale spikes.</br>
+ * Customers enter the queue once and receive a {@link QueueToken} with an estimated wait instead of
+ * retrying against the pool. A single dispatcher thread admits queued customers in batches and hands
+ * released tickets straight to them in arrival order, taking the pool lock once per dispatch
+ * rather than once per customer attempt.
+ */
+public class WaitingRoom implements TicketPoolListener {
+
+    // Time the dispatcher parks for when there is nothing to dispatch
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    // Ticket pool the tickets are dispatched from
+    private final TicketPool ticketPool;
+
+    // Maximum number of customers admitted to the dispatcher at once
+    private final int batchSize;
+
+    // Customers that entered the queue but have not been admitted yet
+    private final Queue<QueueToken> lobby = new ConcurrentLinkedQueue<>();
+
+    // Number of tokens issued so far, used for queue positions
+    private final AtomicLong issuedTokens = new AtomicLong();
+
+    // Number of tickets requested by customers still in the queue
+    private final AtomicLong queuedDemand = new AtomicLong();
+
+    // Tickets released since the waiting room opened, used to estimate wait times
+    private final LongAdder releasedTickets = new LongAdder();
+
+    // Statistics of the dispatcher
+    private final AtomicLong dispatchCycles = new AtomicLong();
+    private final AtomicLong servedTokens = new AtomicLong();
+
+    private volatile long openedAtNanos;
+    private volatile boolean isRunning;
+    private volatile Thread dispatcher;
+
+    /**
+     * Creates a waiting room for the given ticket pool.
+     *
+     * @param ticketPool the ticket pool to dispatch tickets from
+     * @param batchSize  the maximum number of customers admitted to the dispatcher at once
+     */
+    public WaitingRoom(TicketPool ticketPool, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive, was " + batchSize);
+        }
+        this.ticketPool = ticketPool;
+        this.batchSize = batchSize;
+        ticketPool.addListener(this);
+    }
+
+    /**
+     * Opens the waiting room by starting the dispatcher thread.
+     */
+    public void open() {
+        openedAtNanos = System.nanoTime();
+        isRunning = true;
+        Thread thread = new Thread(this::dispatch, "waiting-room-dispatcher");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    /**
+     * Closes the waiting room. Customers still in the queue are released without tickets.
+     */
+    public void close() {
+        isRunning = false;
+        Thread thread = dispatcher;
+        if (thread != null) {
+            thread.interrupt();
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        cancelLobby();
+    }
+
+    /**
+     * Puts a customer in the queue.
+     *
+     * @param customerId the ID of the customer
+     * @param count      the number of tickets the customer wants
+     * @return the customer's queue token
+     */
+    public QueueToken enterQueue(int customerId, int count) {
+        long ticketsAhead = queuedDemand.getAndAdd(count);
+        QueueToken token = new QueueToken(issuedTokens.incrementAndGet(), customerId, count, estimateWaitMillis(ticketsAhead));
+        if (!isRunning) {
+            queuedDemand.addAndGet(-count);
+            token.cancel();
+            return token;
+        }
+        lobby.add(token);
+        // close() may have drained the lobby between the check above and the add; whoever removes the token cancels it
+        if (!isRunning && lobby.remove(token)) {
+            queuedDemand.addAndGet(-count);
+            token.cancel();
+            return token;
+        }
+        LockSupport.unpark(dispatcher);
+        return token;
+    }
+
+    /**
+     * Wakes the dispatcher as soon as a vendor releases tickets.
+     */
+    @Override
+    public void onTicketsAdded(int vendorId, int count, long releasedAtNanos) {
+        releasedTickets.add(count);
+        LockSupport.unpark(dispatcher);
+    }
+
+    /**
+     * Gets the number of customers waiting in the queue.
+     *
+     * @return the number of issued tokens not served yet
+     */
+    public long getQueueLength() {
+        return issuedTokens.get() - servedTokens.get();
+    }
+
+    /**
+     * Gets the number of times the dispatcher went to the ticket pool.
+     *
+     * @return the number of dispatch cycles
+     */
+    public long getDispatchCycles() {
+        return dispatchCycles.get();
+    }
+
+    /**
+     * Gets the number of customers that received their tickets.
+     *
+     * @return the number of served tokens
+     */
+    public long getServedTokens() {
+        return servedTokens.get();
+    }
+
+    // Dispatcher loop: admits a batch, takes as many of its customers as the pool can serve and completes their tokens
+    private void dispatch() {
+        Deque<QueueToken> admitted = new ArrayDeque<>(batchSize);
+        int[] counts = new int[batchSize];
+        int[] customerIds = new int[batchSize];
+
+        while (isRunning) {
+            // Admit customers from the lobby until the batch is full
+            while (admitted.size() < batchSize) {
+                QueueToken token = lobby.poll();
+                if (token == null) {
+                    break;
+                }
+                admitted.add(token);
+            }
+            if (admitted.isEmpty()) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+
+            int waiting = 0;
+            for (QueueToken token : admitted) {
+                counts[waiting] = token.getCount();
+                customerIds[waiting] = token.getCustomerId();
+                waiting++;
+            }
+
+            int[][] ticketIds;
+            try {
+                ticketIds = ticketPool.dispatchTickets(
+                        waiting == batchSize ? counts : Arrays.copyOf(counts, waiting),
+                        waiting == batchSize ? customerIds : Arrays.copyOf(customerIds, waiting));
+            } catch (InterruptedException e) {
+                break; // The waiting room is closing
+            }
+            dispatchCycles.incrementAndGet();
+
+            // Hand the tickets to the served customers in queue order
+            for (int[] served : ticketIds) {
+                QueueToken token = admitted.poll();
+                queuedDemand.addAndGet(-token.getCount());
+                servedTokens.incrementAndGet();
+                token.complete(served);
+            }
+            if (ticketIds.length == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS); // Woken early when a vendor releases tickets
+            }
+        }
+
+        for (QueueToken token : admitted) {
+            queuedDemand.addAndGet(-token.getCount());
+            token.cancel();
+        }
+        cancelLobby();
+    }
+
+    // Releases every customer still in the lobby without tickets
+    private void cancelLobby() {
+        QueueToken token;
+        while ((token = lobby.poll()) != null) {
+            queuedDemand.addAndGet(-token.getCount());
+            token.cancel();
+        }
+    }
+
+    // Estimates the wait of a new customer from the tickets ahead of it and the release rate so far
+    private long estimateWaitMillis(long ticketsAhead) {
+        long released = releasedTickets.sum();
+        long elapsedNanos = System.nanoTime() - openedAtNanos;
+        if (released == 0 || elapsedNanos <= 0) {
+            return -1;
+        }
+        double ticketsPerMilli = released / (elapsedNanos / 1_000_000.0);
+        return (long) (ticketsAhead / ticketsPerMilli);
+    }
+}
@@ -0,0 +1,253 @@
+package org.tms.ticketPool;
+
+import org.tms.configuration.Configuration;
+import org.tms.threadExecutor.TicketPoolWorkload;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Correctness and contention stress harness for every {@link TicketPoolStrategy}.</br>
+ * Vendor threads and customer threads hammer one pool without any pauses; on the alternating-lock pool
+ * part of the vendors use {@code addTicket2}. Afterwards the harness checks the pool invariants:</br>
+ * - no ticket is sold twice and the sold tickets are exactly tickets 1..sold,</br>
+ * - tickets added - tickets sold == tickets in the pool,</br>
+ * - the pool's queue or ring still holds exactly the unsold tickets sold+1..added,</br>
+ * - the pool never holds more tickets than its capacity, checked on the peak of the whole run,</br>
+ * - every worker stops once the run ends,</br>
+ * and reports throughput (plus lock contention for the alternating-lock pool)
+ * so performance changes to the pools can be compared run by run.</br>
+ * Usage: {@code TicketPoolStressHarness [vendors] [addTicket2Vendors] [customers] [capacity] [seconds] [strategies]}
+ * where strategies is a comma-separated list such as {@code alternating-lock,lock-free}.
+ */
+public class TicketPoolStressHarness {
+
+    private static final int MAX_TICKETS_PER_OPERATION = 5;
+
+    public static void main(String[] args) throws InterruptedException {
+        int vendorCount = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        int legacyVendorCount = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int customerCount = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int capacity = args.length > 3 ? Integer.parseInt(args[3]) : 100;
+        int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 5;
+
+        List<TicketPoolStrategy> strategies = new ArrayList<>();
+        if (args.length > 5) {
+            for (String name : args[5].split(",")) {
+                strategies.add(TicketPoolStrategy.fromConfigName(name.trim()));
+            }
+        } else {
+            strategies.addAll(List.of(TicketPoolStrategy.values()));
+        }
+
+        boolean passed = true;
+        for (TicketPoolStrategy strategy : strategies) {
+            passed &= run(strategy, vendorCount, legacyVendorCount, customerCount, capacity, seconds);
+        }
+        if (!passed) {
+            throw new IllegalStateException("TicketPool stress invariants violated");
+        }
+    }
+
+    /**
+     * Runs one stress round against a fresh pool of the given strategy, checks the invariants and prints the measurements.
+     *
+     * @return true if every invariant holds
+     */
+    public static boolean run(TicketPoolStrategy strategy, int vendorCount, int legacyVendorCount, int customerCount,
+                              int capacity, int seconds) throws InterruptedException {
+        TicketPool ticketPool = strategy.create(new Configuration(0, MAX_TICKETS_PER_OPERATION,
+                MAX_TICKETS_PER_OPERATION, capacity, strategy));
+        int maxRelease = Math.min(MAX_TICKETS_PER_OPERATION, capacity);
+
+        // Per-worker measurements, each worker only writes its own entries
+        int[][] purchases = new int[customerCount][64];
+        int[] purchaseCounts = new int[customerCount];
+        long[] vendorOperations = new long[vendorCount + legacyVendorCount];
+        long[] customerOperations = new long[customerCount];
+        long[] vendorNanos = new long[vendorCount + legacyVendorCount];
+        long[] customerNanos = new long[customerCount];
+
+        TicketPoolWorkload workload = new TicketPoolWorkload();
+        workload.addWorkers("vendor", vendorCount + legacyVendorCount, vendorId -> {
+            int count = ThreadLocalRandom.current().nextInt(1, maxRelease + 1);
+            long started = System.nanoTime();
+            if (vendorId > vendorCount && ticketPool instanceof AlternatingLockTicketPool alternatingPool) {
+                alternatingPool.addTicket2(count, vendorId);
+            } else {
+                ticketPool.addTicket(count, vendorId);
+            }
+            vendorNanos[vendorId - 1] += System.nanoTime() - started;
+            vendorOperations[vendorId - 1]++;
+            return true;
+        });
+        workload.addWorkers("customer", customerCount, customerId -> {
+            int slot = customerId - 1;
+            int count = ThreadLocalRandom.current().nextInt(1, MAX_TICKETS_PER_OPERATION + 1);
+            long started = System.nanoTime();
+            int[] ticketIds = ticketPool.claimTickets(count, customerId);
+            customerNanos[slot] += System.nanoTime() - started;
+            customerOperations[slot]++;
+            if (purchaseCounts[slot] + ticketIds.length > purchases[slot].length) {
+                purchases[slot] = Arrays.copyOf(purchases[slot],
+                        Math.max(purchases[slot].length * 2, purchaseCounts[slot] + ticketIds.length));
+            }
+            System.arraycopy(ticketIds, 0, purchases[slot], purchaseCounts[slot], ticketIds.length);
+            purchaseCounts[slot] += ticketIds.length;
+            return ticketIds.length > 0;
+        });
+
+        System.out.println("Stress testing " + strategy.getConfigName() + " pool: " + vendorCount + " addTicket vendors, "
+                + legacyVendorCount + (ticketPool instanceof AlternatingLockTicketPool ? " addTicket2" : " more addTicket")
+                + " vendors, " + customerCount + " customers, capacity " + capacity + ", " + seconds + "s");
+        double elapsedSeconds = workload.run(TimeUnit.SECONDS.toMillis(seconds));
+
+        boolean passed = verify(ticketPool, capacity, purchases, purchaseCounts, workload.getFailures());
+        report(ticketPool, elapsedSeconds, Arrays.stream(vendorOperations).sum(), Arrays.stream(customerOperations).sum(),
+                Arrays.stream(vendorNanos).sum() + Arrays.stream(customerNanos).sum());
+        System.out.println(passed ? "PASS" : "FAIL");
+        return passed;
+    }
+
+    // Checks the pool invariants against the tickets recorded by the customers
+    private static boolean verify(TicketPool ticketPool, int capacity, int[][] purchases, int[] purchaseCounts,
+                                  List<Throwable> failures) {
+        boolean passed = true;
+        long added = ticketPool.getTicketsAdded();
+        long sold = ticketPool.getTicketsSold();
+        int available = ticketPool.getTicketCount();
+
+        for (Throwable failure : failures) {
+            System.out.print("FAIL: worker thread failed: ");
+            failure.printStackTrace(System.out);
+            passed = false;
+        }
+
+        // No ticket is handed to two customers
+        BitSet soldTickets = new BitSet();
+        long recorded = 0;
+        for (int i = 0; i < purchases.length; i++) {
+            for (int j = 0; j < purchaseCounts[i]; j++) {
+                int ticketId = purchases[i][j];
+                if (ticketId < 1 || ticketId > added) {
+                    System.out.println("FAIL: customer " + (i + 1) + " bought unreleased ticket " + ticketId);
+                    passed = false;
+                } else if (soldTickets.get(ticketId)) {
+                    System.out.println("FAIL: ticket " + ticketId + " was sold twice");
+                    passed = false;
+                }
+                soldTickets.set(ticketId);
+                recorded++;
+            }
+        }
+
+        if (recorded != sold) {
+            System.out.println("FAIL: customers recorded " + recorded + " tickets but the pool sold " + sold);
+            passed = false;
+        }
+        // Both pools sell in release order, so no ticket below the last sold one may be missing
+        if (soldTickets.cardinality() != sold || soldTickets.nextClearBit(1) != sold + 1) {
+            System.out.println("FAIL: sold tickets are not exactly 1.." + sold + ", first missing ticket is "
+                    + soldTickets.nextClearBit(1) + ", " + soldTickets.cardinality() + " distinct tickets sold");
+            passed = false;
+        }
+        if (added - sold != available) {
+            System.out.println("FAIL: added " + added + " - sold " + sold + " != available " + available);
+            passed = false;
+        }
+        int peak = peakTicketCount(ticketPool);
+        if (available > capacity || peak > capacity) {
+            System.out.println("FAIL: pool held " + peak + " tickets at its peak and " + available
+                    + " at the end, capacity is " + capacity);
+            passed = false;
+        }
+
+        // The counters are updated together, so compare them with what the pool actually stores
+        passed &= verifyPooledTickets(pooledTicketIds(ticketPool), sold, added);
+
+        System.out.println("Added: " + added + ", Sold: " + sold + ", Available: " + available + ", Peak: " + peak);
+        if (ticketPool instanceof AlternatingLockTicketPool alternatingPool) {
+            passed &= verifyAlternatingLock(alternatingPool);
+        }
+        return passed;
+    }
+
+    // Reads the tickets from the pool's own storage instead of its counters
+    private static int[] pooledTicketIds(TicketPool ticketPool) {
+        if (ticketPool instanceof AlternatingLockTicketPool alternatingPool) {
+            return alternatingPool.availableTicketIds();
+        }
+        if (ticketPool instanceof LockFreeTicketPool lockFreePool) {
+            return lockFreePool.availableTicketIds();
+        }
+        throw new IllegalArgumentException("No storage check for " + ticketPool.getClass().getSimpleName());
+    }
+
+    // Reads the highest number of tickets the pool held during the run
+    private static int peakTicketCount(TicketPool ticketPool) {
+        if (ticketPool instanceof AlternatingLockTicketPool alternatingPool) {
+            return alternatingPool.getPeakTicketCount();
+        }
+        if (ticketPool instanceof LockFreeTicketPool lockFreePool) {
+            return lockFreePool.getPeakTicketCount();
+        }
+        throw new IllegalArgumentException("No peak check for " + ticketPool.getClass().getSimpleName());
+    }
+
+    // Checks that the pool's storage holds exactly the unsold tickets sold+1..added, in release order
+    private static boolean verifyPooledTickets(int[] pooledTicketIds, long sold, long added) {
+        if (pooledTicketIds.length != added - sold) {
+            System.out.println("FAIL: pool stores " + pooledTicketIds.length + " tickets, added " + added
+                    + " - sold " + sold + " is " + (added - sold));
+            return false;
+        }
+        for (int i = 0; i < pooledTicketIds.length; i++) {
+            if (pooledTicketIds[i] != sold + 1 + i) {
+                System.out.println("FAIL: pool stores ticket " + pooledTicketIds[i] + " where ticket "
+                        + (sold + 1 + i) + " was expected");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Checks the invariants only the alternating-lock pool keeps records for
+    private static boolean verifyAlternatingLock(AlternatingLockTicketPool ticketPool) {
+        boolean passed = true;
+
+        // No ticket is recorded as bought twice in the history
+        for (Map.Entry<Integer, String> entry : ticketPool.getTicketHistory().entrySet()) {
+            String history = entry.getValue();
+            int firstPurchase = history.indexOf("Bought by");
+            if (firstPurchase >= 0 && history.indexOf("Bought by", firstPurchase + 1) >= 0) {
+                System.out.println("FAIL: history shows ticket " + entry.getKey() + " sold twice: " + history);
+                passed = false;
+            }
+        }
+        return passed;
+    }
+
+    // Prints throughput and, for the alternating-lock pool, contention figures of the run
+    private static void report(TicketPool ticketPool, double elapsedSeconds, long vendorOperations,
+                               long customerOperations, long operationNanos) {
+        long operations = vendorOperations + customerOperations;
+        System.out.printf("Throughput: %.0f ops/s (%d vendor ops, %d customer ops), %.0f tickets sold/s%n",
+                operations / elapsedSeconds, vendorOperations, customerOperations,
+                ticketPool.getTicketsSold() / elapsedSeconds);
+        System.out.printf("Mean operation latency: %.1f us%n",
+                operations == 0 ? 0.0 : operationNanos / 1000.0 / operations);
+        if (ticketPool instanceof AlternatingLockTicketPool alternatingPool) {
+            long acquisitions = alternatingPool.getLockAcquisitions();
+            System.out.printf("Lock acquisitions: %d, contended: %d (%.1f%%), turn waits: %d (%.2f per acquisition)%n",
+                    acquisitions, alternatingPool.getContendedAcquisitions(),
+                    acquisitions == 0 ? 0.0 : 100.0 * alternatingPool.getContendedAcquisitions() / acquisitions,
+                    alternatingPool.getTurnWaits(),
+                    acquisitions == 0 ? 0.0 : (double) alternatingPool.getTurnWaits() / acquisitions);
+        }
+    }
+}